@@ -0,0 +1,134 @@
+import java.util.Arrays;
+
+// Mapa de memória compactado: 64 unidades por long (bit 1 = ocupado).
+// As buscas pulam palavras inteiras e usam numberOfTrailingZeros para achar
+// o próximo bit; preenchimentos e liberações usam máscaras por palavra.
+class BitsetMemoryMap implements MemoryMap {
+    private final long[] words;
+    private final int size;
+
+    public BitsetMemoryMap(int size) {
+        this.size = size;
+        this.words = new long[(size + 63) >>> 6];
+    }
+
+    private BitsetMemoryMap(BitsetMemoryMap source) {
+        this.size = source.size;
+        this.words = source.words.clone();
+    }
+
+    @Override
+    public BitsetMemoryMap copy() {
+        return new BitsetMemoryMap(this);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isFree(int index) {
+        return (words[index >>> 6] & (1L << index)) == 0;
+    }
+
+    @Override
+    public void occupy(int start, int length) {
+        if (length <= 0) {
+            return;
+        }
+        checkRange(start, length);
+        int end = start + length;
+        int firstWord = start >>> 6;
+        int lastWord = (end - 1) >>> 6;
+        long firstMask = -1L << start;  // o deslocamento usa apenas os 6 bits baixos
+        long lastMask = -1L >>> -end;
+
+        if (firstWord == lastWord) {
+            words[firstWord] |= firstMask & lastMask;
+        } else {
+            words[firstWord] |= firstMask;
+            Arrays.fill(words, firstWord + 1, lastWord, -1L);
+            words[lastWord] |= lastMask;
+        }
+    }
+
+    @Override
+    public void release(int start, int length) {
+        if (length <= 0) {
+            return;
+        }
+        checkRange(start, length);
+        int end = start + length;
+        int firstWord = start >>> 6;
+        int lastWord = (end - 1) >>> 6;
+        long firstMask = -1L << start;
+        long lastMask = -1L >>> -end;
+
+        if (firstWord == lastWord) {
+            words[firstWord] &= ~(firstMask & lastMask);
+        } else {
+            words[firstWord] &= ~firstMask;
+            Arrays.fill(words, firstWord + 1, lastWord, 0L);
+            words[lastWord] &= ~lastMask;
+        }
+    }
+
+    private void checkRange(int start, int length) {
+        if (start < 0 || start + length > size) {
+            throw new ArrayIndexOutOfBoundsException("Intervalo [" + start + ", " + (start + length) + ") fora da memória de tamanho " + size);
+        }
+    }
+
+    @Override
+    public int nextFree(int from) {
+        if (from >= size) {
+            return size;
+        }
+        int w = from >>> 6;
+        long bits = ~words[w] & (-1L << from);
+        while (bits == 0) {
+            if (++w == words.length) {
+                return size;
+            }
+            bits = ~words[w];
+        }
+        // Os bits de preenchimento da última palavra aparecem como livres
+        return Math.min(size, (w << 6) + Long.numberOfTrailingZeros(bits));
+    }
+
+    @Override
+    public int nextUsed(int from) {
+        if (from >= size) {
+            return size;
+        }
+        int w = from >>> 6;
+        long bits = words[w] & (-1L << from);
+        while (bits == 0) {
+            if (++w == words.length) {
+                return size;
+            }
+            bits = words[w];
+        }
+        return Math.min(size, (w << 6) + Long.numberOfTrailingZeros(bits));
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    // Mesmo formato de Arrays.toString(int[]) usado pelo mapa original
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(size * 3 + 2);
+        sb.append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(isFree(i) ? '0' : '1');
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,269 @@
+// Sistema de Buddy binário: a memória é dividida em blocos de tamanho 2^k.
+// - O Buddy é dono exclusivo das regiões que tira do índice de buracos: regiões alinhadas
+//   de potência de 2, pegas sob demanda. Os blocos livres dessas regiões (a reserva) não
+//   aparecem como buracos para as outras estratégias; flush() devolve a reserva ao índice.
+// - A lista livre de cada ordem k é um bitmap com 1 bit por bloco de 2^k unidades, mais
+//   níveis de resumo (1 bit por palavra não vazia do nível de baixo). Somando as ordens são
+//   cerca de 2 bits por unidade de memória, e marcar, desmarcar e achar o primeiro bloco
+//   livre custam O(log64 N).
+// Alocar e liberar custam O(log N) passos desses, independente da fragmentação; só pegar
+// uma região nova do índice de buracos depende dele (ver HoleIndex.alignedFit).
+class BuddyAllocator {
+    private static final int REGION_EXTRA_ORDERS = 4; // Regiões de até 16x o bloco pedido
+
+    private final int memorySize;
+    private final int maxOrder;
+    private final HoleIndex holes;
+    private final OrderBitmap[] freeBlocks; // ordem -> blocos livres da reserva
+
+    // Reserva (blocos livres que pertencem ao Buddy)
+    private int freeBlockCount = 0;
+    private long freeUnits = 0;
+
+    // Estatísticas de fragmentação interna (arredondamento para potência de 2)
+    private int allocatedBlocks = 0;
+    private long allocatedUnits = 0; // Soma dos blocos entregues (2^k)
+    private long requestedUnits = 0; // Soma dos tamanhos pedidos
+
+    // Começa sem reserva: as regiões são pegas do índice de buracos no primeiro uso
+    public BuddyAllocator(int memorySize, HoleIndex holes) {
+        this.memorySize = memorySize;
+        this.maxOrder = 31 - Integer.numberOfLeadingZeros(Math.max(1, memorySize));
+        this.holes = holes;
+        this.freeBlocks = new OrderBitmap[maxOrder + 1];
+        for (int k = 0; k <= maxOrder; k++) {
+            freeBlocks[k] = new OrderBitmap((memorySize >>> k) + 1);
+        }
+    }
+
+    // Cópia para um snapshot: usa o índice de buracos já copiado
+    private BuddyAllocator(BuddyAllocator source, HoleIndex holes) {
+        this.memorySize = source.memorySize;
+        this.maxOrder = source.maxOrder;
+        this.holes = holes;
+        this.freeBlocks = new OrderBitmap[source.freeBlocks.length];
+        for (int k = 0; k < freeBlocks.length; k++) {
+            freeBlocks[k] = source.freeBlocks[k].copy();
+        }
+        this.freeBlockCount = source.freeBlockCount;
+        this.freeUnits = source.freeUnits;
+        this.allocatedBlocks = source.allocatedBlocks;
+        this.allocatedUnits = source.allocatedUnits;
+        this.requestedUnits = source.requestedUnits;
+    }
+
+    public BuddyAllocator copy(HoleIndex holes) {
+        return new BuddyAllocator(this, holes);
+    }
+
+    // Ordem do menor bloco 2^k que comporta 'size'
+    public static int orderFor(int size) {
+        return size <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(size - 1);
+    }
+
+    // Tamanho do bloco realmente reservado para 'size'
+    public static int blockSizeFor(int size) {
+        return 1 << orderFor(size);
+    }
+
+    // Retorna o início do bloco alocado, ou -1 se não houver bloco grande o suficiente
+    // nem na reserva nem no índice de buracos
+    public int allocate(int size) {
+        int order = orderFor(size);
+        if (order > maxOrder) {
+            return -1;
+        }
+
+        // Menor ordem >= order com bloco livre: no máximo log N passos
+        int current = order;
+        while (current <= maxOrder && freeBlocks[current].isEmpty()) {
+            current++;
+        }
+        if (current > maxOrder) {
+            current = takeRegion(order);
+            if (current == -1) {
+                return -1;
+            }
+        }
+
+        int block = freeBlocks[current].first() << current;
+        removeFree(block, current);
+
+        // Divide o bloco até chegar na ordem pedida, liberando a metade de cima
+        while (current > order) {
+            current--;
+            addFree(block + (1 << current), current);
+        }
+
+        allocatedBlocks++;
+        allocatedUnits += 1L << order;
+        requestedUnits += size;
+        return block;
+    }
+
+    // Libera o bloco e junta com o buddy enquanto ele também estiver livre na reserva
+    public void free(int block, int size) {
+        int order = orderFor(size);
+        allocatedBlocks--;
+        allocatedUnits -= 1L << order;
+        requestedUnits -= size;
+
+        while (order < maxOrder) {
+            int buddy = block ^ (1 << order);
+            if (buddy + (1 << order) > memorySize || !isFree(buddy, order)) {
+                break;
+            }
+            removeFree(buddy, order);
+            block = Math.min(block, buddy);
+            order++;
+        }
+        addFree(block, order);
+    }
+
+    // Devolve toda a reserva ao índice de buracos (que junta os vizinhos).
+    // Retorna as unidades devolvidas.
+    public long flush() {
+        long released = freeUnits;
+        for (int k = 0; k <= maxOrder; k++) {
+            for (int index = freeBlocks[k].first(); index != -1; index = freeBlocks[k].first()) {
+                removeFree(index << k, k);
+                holes.release(index << k, 1 << k);
+            }
+        }
+        return released;
+    }
+
+    // Se 'start' é o início de um bloco livre da reserva, retorna o tamanho dele; senão 0
+    public int freeBlockSizeAt(int start) {
+        for (int k = 0; k <= maxOrder && (start & ((1 << k) - 1)) == 0; k++) {
+            if (isFree(start, k)) {
+                return 1 << k;
+            }
+        }
+        return 0;
+    }
+
+    public int getAllocatedBlocks() {
+        return allocatedBlocks;
+    }
+
+    // Unidades perdidas dentro dos blocos por causa do arredondamento
+    public long getInternalFragmentation() {
+        return allocatedUnits - requestedUnits;
+    }
+
+    public long getAllocatedUnits() {
+        return allocatedUnits;
+    }
+
+    public int getFreeBlocks() {
+        return freeBlockCount;
+    }
+
+    public long getFreeUnits() {
+        return freeUnits;
+    }
+
+    // Pega do índice de buracos uma região alinhada de ordem entre order + REGION_EXTRA_ORDERS
+    // e order (a maior que houver) e a põe na reserva. Retorna a ordem, ou -1 se não houver.
+    private int takeRegion(int order) {
+        for (int k = Math.min(maxOrder, order + REGION_EXTRA_ORDERS); k >= order; k--) {
+            int start = holes.alignedFit(k);
+            if (start != -1) {
+                holes.occupy(start, 1 << k);
+                addFree(start, k);
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isFree(int block, int order) {
+        return freeBlocks[order].get(block >>> order);
+    }
+
+    private void addFree(int block, int order) {
+        freeBlocks[order].set(block >>> order);
+        freeBlockCount++;
+        freeUnits += 1L << order;
+    }
+
+    private void removeFree(int block, int order) {
+        freeBlocks[order].clear(block >>> order);
+        freeBlockCount--;
+        freeUnits -= 1L << order;
+    }
+
+    // Bitmap com níveis de resumo: levels[0] tem 1 bit por bloco e o bit j de levels[i + 1]
+    // diz se a palavra j de levels[i] tem algum bit ligado. O último nível tem uma palavra.
+    private static final class OrderBitmap {
+        private final long[][] levels;
+
+        OrderBitmap(int bits) {
+            int depth = 1;
+            for (long words = (bits + 63L) >>> 6; words > 1; words = (words + 63) >>> 6) {
+                depth++;
+            }
+            levels = new long[depth][];
+            long words = (bits + 63L) >>> 6;
+            for (int level = 0; level < depth; level++) {
+                levels[level] = new long[(int) Math.max(1, words)];
+                words = (words + 63) >>> 6;
+            }
+        }
+
+        private OrderBitmap(OrderBitmap source) {
+            levels = new long[source.levels.length][];
+            for (int level = 0; level < levels.length; level++) {
+                levels[level] = source.levels[level].clone();
+            }
+        }
+
+        OrderBitmap copy() {
+            return new OrderBitmap(this);
+        }
+
+        boolean isEmpty() {
+            return levels[levels.length - 1][0] == 0;
+        }
+
+        boolean get(int index) {
+            return (levels[0][index >>> 6] & (1L << index)) != 0;
+        }
+
+        void set(int index) {
+            for (long[] level : levels) {
+                int word = index >>> 6;
+                boolean wasEmpty = level[word] == 0;
+                level[word] |= 1L << index;
+                if (!wasEmpty) {
+                    return; // Os níveis de cima já sabiam desta palavra
+                }
+                index = word;
+            }
+        }
+
+        void clear(int index) {
+            for (long[] level : levels) {
+                int word = index >>> 6;
+                level[word] &= ~(1L << index);
+                if (level[word] != 0) {
+                    return; // A palavra continua com bits ligados
+                }
+                index = word;
+            }
+        }
+
+        // Menor índice ligado, ou -1 se o bitmap estiver vazio
+        int first() {
+            if (isEmpty()) {
+                return -1;
+            }
+            int index = 0;
+            for (int level = levels.length - 1; level >= 0; level--) {
+                index = (index << 6) | Long.numberOfTrailingZeros(levels[level][index]);
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+// Resultado de uma compactação: quanto foi movido e quanto tempo levou
+class CompactionReport {
+    final long unitsMoved;
+    final int blocksMoved;
+    final long nanos;
+    final boolean finished; // true se a memória ficou totalmente compactada
+
+    public CompactionReport(long unitsMoved, int blocksMoved, long nanos, boolean finished) {
+        this.unitsMoved = unitsMoved;
+        this.blocksMoved = blocksMoved;
+        this.nanos = nanos;
+        this.finished = finished;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Compactação: %d unidades movidas em %d blocos (%.1f µs)%s.",
+                unitsMoved, blocksMoved, nanos / 1e3, finished ? "" : ", parcial");
+    }
+}
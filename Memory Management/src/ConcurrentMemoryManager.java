@@ -0,0 +1,92 @@
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+
+// Variante do MemoryManager para várias threads.
+// A memória é dividida em arenas independentes, cada uma com o seu MemoryManager e
+// o seu lock. Cada thread tem uma arena "de casa" (atribuída em rodízio no primeiro
+// uso) e só passa para as outras arenas quando a sua não tem espaço.
+class ConcurrentMemoryManager {
+    private static final int PENDING = -1; // Processo reservado, alocação em andamento
+
+    private final MemoryManager[] arenas;
+    private final ReentrantLock[] locks;
+    private final int[] arenaBase; // Endereço global do início de cada arena
+    private final ConcurrentHashMap<String, Integer> processArena = new ConcurrentHashMap<>();
+    private final AtomicInteger nextHomeArena = new AtomicInteger();
+    private final ThreadLocal<Integer> homeArena;
+
+    public ConcurrentMemoryManager(int size, int arenaCount) {
+        this(size, arenaCount, IntArrayMemoryMap::new);
+    }
+
+    public ConcurrentMemoryManager(int size, int arenaCount, IntFunction<MemoryMap> mapFactory) {
+        if (arenaCount < 1 || arenaCount > size) {
+            throw new IllegalArgumentException("Número de arenas inválido: " + arenaCount);
+        }
+        this.arenas = new MemoryManager[arenaCount];
+        this.locks = new ReentrantLock[arenaCount];
+        this.arenaBase = new int[arenaCount];
+
+        int arenaSize = size / arenaCount;
+        for (int i = 0; i < arenaCount; i++) {
+            // A última arena fica com o resto da divisão
+            int thisSize = i == arenaCount - 1 ? size - arenaSize * (arenaCount - 1) : arenaSize;
+            arenas[i] = new MemoryManager(mapFactory.apply(thisSize));
+            arenas[i].setVerbose(false);
+            locks[i] = new ReentrantLock();
+            arenaBase[i] = i * arenaSize;
+        }
+        this.homeArena = ThreadLocal.withInitial(() -> nextHomeArena.getAndIncrement() % arenas.length);
+    }
+
+    // Retorna o endereço global do bloco, ou -1 se nenhuma arena tiver espaço
+    public int allocate(Process process, String algorithm) {
+        if (processArena.putIfAbsent(process.getId(), PENDING) != null) {
+            return -1; // Já alocado (ou sendo alocado por outra thread)
+        }
+
+        int home = homeArena.get();
+        for (int k = 0; k < arenas.length; k++) {
+            int a = (home + k) % arenas.length;
+            int startBlock;
+            locks[a].lock();
+            try {
+                startBlock = arenas[a].allocate(process, algorithm);
+            } finally {
+                locks[a].unlock();
+            }
+            if (startBlock != -1) {
+                processArena.put(process.getId(), a);
+                return arenaBase[a] + startBlock;
+            }
+        }
+
+        processArena.remove(process.getId());
+        return -1;
+    }
+
+    public void deallocate(Process process) {
+        Integer a = processArena.get(process.getId());
+        if (a == null || a == PENDING) {
+            return;
+        }
+        locks[a].lock();
+        try {
+            arenas[a].deallocate(process);
+        } finally {
+            locks[a].unlock();
+        }
+        processArena.remove(process.getId(), a);
+    }
+
+    public boolean isProcessAllocated(Process process) {
+        Integer a = processArena.get(process.getId());
+        return a != null && a != PENDING;
+    }
+
+    public int getArenaCount() {
+        return arenas.length;
+    }
+}
@@ -0,0 +1,184 @@
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Estatísticas de fragmentação mantidas incrementalmente.
+// O índice de buracos (e o Quick Fit) avisam cada buraco criado ou removido, e o
+// MemoryManager avisa quando um processo acompanhado é alocado ou liberado.
+// As consultas não varrem a memória, e nem elas nem as atualizações criam objetos.
+class FragmentationStats {
+    private static final int HISTOGRAM_BUCKETS = 32; // Bucket k = buracos com tamanho em [2^k, 2^(k+1))
+
+    // Buracos livres
+    private int holeCount = 0;
+    private long freeUnits = 0;
+    private final int[] histogram;
+    private final LongTreeMap holesPerSize; // tamanho -> quantidade
+
+    // Requisições pendentes (processos acompanhados que não estão na memória)
+    private List<Process> trackedProcesses;
+    private final Set<String> trackedIds;
+    private final LongTreeMap pendingPerSize; // tamanho -> quantidade
+
+    // Buracos menores que a menor requisição pendente (inutilizáveis)
+    private int unusableThreshold = 0;
+    private int unusableHoleCount = 0;
+    private long unusableUnits = 0;
+
+    public FragmentationStats() {
+        this.histogram = new int[HISTOGRAM_BUCKETS];
+        this.holesPerSize = new LongTreeMap();
+        this.trackedIds = new HashSet<>();
+        this.pendingPerSize = new LongTreeMap();
+    }
+
+    private FragmentationStats(FragmentationStats source) {
+        this.holeCount = source.holeCount;
+        this.freeUnits = source.freeUnits;
+        this.histogram = source.histogram.clone();
+        this.holesPerSize = source.holesPerSize.copy();
+        this.trackedProcesses = source.trackedProcesses;
+        this.trackedIds = new HashSet<>(source.trackedIds);
+        this.pendingPerSize = source.pendingPerSize.copy();
+        this.unusableThreshold = source.unusableThreshold;
+        this.unusableHoleCount = source.unusableHoleCount;
+        this.unusableUnits = source.unusableUnits;
+    }
+
+    // Cópia independente (a lista de processos acompanhada é compartilhada, só é lida)
+    public FragmentationStats copy() {
+        return new FragmentationStats(this);
+    }
+
+    public void holeAdded(int size) {
+        holeCount++;
+        freeUnits += size;
+        histogram[31 - Integer.numberOfLeadingZeros(size)]++;
+        increment(holesPerSize, size);
+        if (size < unusableThreshold) {
+            unusableHoleCount++;
+            unusableUnits += size;
+        }
+    }
+
+    public void holeRemoved(int size) {
+        holeCount--;
+        freeUnits -= size;
+        histogram[31 - Integer.numberOfLeadingZeros(size)]--;
+        decrement(holesPerSize, size);
+        if (size < unusableThreshold) {
+            unusableHoleCount--;
+            unusableUnits -= size;
+        }
+    }
+
+    // Esquece todos os buracos (o índice será reconstruído)
+    public void clearHoles() {
+        holeCount = 0;
+        freeUnits = 0;
+        Arrays.fill(histogram, 0);
+        holesPerSize.clear();
+        unusableHoleCount = 0;
+        unusableUnits = 0;
+    }
+
+    // Passa a acompanhar as requisições desta lista; 'allocated' diz quais já estão na memória
+    public void trackProcesses(List<Process> processes, Set<String> allocated) {
+        trackedProcesses = processes;
+        trackedIds.clear();
+        pendingPerSize.clear();
+        for (Process p : processes) {
+            if (trackedIds.add(p.getId()) && !allocated.contains(p.getId())) {
+                increment(pendingPerSize, p.getSize());
+            }
+        }
+        updateUnusableThreshold();
+    }
+
+    // Recalcula as pendências da lista acompanhada (ex.: depois de reiniciar a memória)
+    public void retrack(Set<String> allocated) {
+        if (trackedProcesses != null) {
+            trackProcesses(trackedProcesses, allocated);
+        }
+    }
+
+    public boolean isTracking(List<Process> processes) {
+        return trackedProcesses == processes;
+    }
+
+    public void processAllocated(Process process) {
+        if (trackedIds.contains(process.getId())) {
+            decrement(pendingPerSize, process.getSize());
+            updateUnusableThreshold();
+        }
+    }
+
+    public void processReleased(Process process) {
+        if (trackedIds.contains(process.getId())) {
+            increment(pendingPerSize, process.getSize());
+            updateUnusableThreshold();
+        }
+    }
+
+    public int getHoleCount() {
+        return holeCount;
+    }
+
+    public long getFreeUnits() {
+        return freeUnits;
+    }
+
+    public int getLargestHole() {
+        return holesPerSize.isEmpty() ? 0 : (int) holesPerSize.key(holesPerSize.last());
+    }
+
+    // Quantidade de buracos com tamanho em [2^bucket, 2^(bucket+1))
+    public int getHistogramBucket(int bucket) {
+        return histogram[bucket];
+    }
+
+    public int getHistogramBuckets() {
+        return HISTOGRAM_BUCKETS;
+    }
+
+    // Menor requisição pendente (0 se não houver)
+    public int getSmallestPendingRequest() {
+        return unusableThreshold;
+    }
+
+    public int getUnusableHoleCount() {
+        return unusableHoleCount;
+    }
+
+    public long getUnusableUnits() {
+        return unusableUnits;
+    }
+
+    // Quando a menor requisição pendente muda, só os tamanhos de buraco entre o
+    // limite antigo e o novo entram ou saem da contagem de inutilizáveis
+    private void updateUnusableThreshold() {
+        int newThreshold = pendingPerSize.isEmpty() ? 0 : (int) pendingPerSize.key(pendingPerSize.first());
+        int sign = newThreshold > unusableThreshold ? 1 : -1;
+        int from = Math.min(unusableThreshold, newThreshold);
+        int to = Math.max(unusableThreshold, newThreshold);
+        for (int n = holesPerSize.ceiling(from); n != LongTreeMap.NONE && holesPerSize.key(n) < to; n = holesPerSize.higher(holesPerSize.key(n))) {
+            unusableHoleCount += sign * holesPerSize.value(n);
+            unusableUnits += sign * holesPerSize.key(n) * holesPerSize.value(n);
+        }
+        unusableThreshold = newThreshold;
+    }
+
+    private static void increment(LongTreeMap counts, int key) {
+        counts.put(key, counts.get(key, 0) + 1);
+    }
+
+    private static void decrement(LongTreeMap counts, int key) {
+        int count = counts.get(key, 0);
+        if (count == 1) {
+            counts.remove(key);
+        } else {
+            counts.put(key, count - 1);
+        }
+    }
+}
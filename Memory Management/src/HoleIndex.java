@@ -0,0 +1,196 @@
+// Índice persistente dos buracos livres, atualizado a cada alocação/desalocação.
+// - holesByStart: início -> tamanho, ordenado por endereço (para juntar vizinhos)
+// - holesBySize: chave (tamanho << 32 | início), ordenada por tamanho e depois por endereço
+// Os dois são LongTreeMap (sem boxing), então alocar e liberar não criam objetos.
+class HoleIndex {
+    private static final int ALIGNED_PROBES = 64; // Buracos examinados antes de ir para um que sempre serve
+
+    private final int memorySize;
+    private final LongTreeMap holesByStart;
+    private final LongTreeMap holesBySize; // Só as chaves importam
+    private final FragmentationStats stats; // Avisado de cada buraco criado/removido
+
+    public HoleIndex(int memorySize) {
+        this(memorySize, new FragmentationStats());
+    }
+
+    public HoleIndex(int memorySize, FragmentationStats stats) {
+        this.memorySize = memorySize;
+        this.stats = stats;
+        this.holesByStart = new LongTreeMap();
+        this.holesBySize = new LongTreeMap();
+        reset();
+    }
+
+    private HoleIndex(HoleIndex source, FragmentationStats stats) {
+        this.memorySize = source.memorySize;
+        this.stats = stats;
+        this.holesByStart = source.holesByStart.copy();
+        this.holesBySize = source.holesBySize.copy();
+    }
+
+    // Cópia independente que avisa 'stats' (já copiado junto) em vez das estatísticas originais
+    public HoleIndex copy(FragmentationStats stats) {
+        return new HoleIndex(this, stats);
+    }
+
+    // Volta ao estado inicial: um único buraco do tamanho da memória
+    public void reset() {
+        holesByStart.clear();
+        holesBySize.clear();
+        stats.clearHoles();
+        if (memorySize > 0) {
+            addHole(0, memorySize);
+        }
+    }
+
+    // Reconstrói o índice a partir de um mapa de memória existente
+    public void rebuild(MemoryMap map) {
+        holesByStart.clear();
+        holesBySize.clear();
+        stats.clearHoles();
+        int holeStart = map.nextFree(0);
+        while (holeStart < memorySize) {
+            int holeEnd = map.nextUsed(holeStart);
+            addHole(holeStart, holeEnd - holeStart);
+            holeStart = map.nextFree(holeEnd);
+        }
+    }
+
+    // Remove o intervalo [start, start + length) do buraco que o contém
+    public void occupy(int start, int length) {
+        int hole = holesByStart.floor(start);
+        if (hole == LongTreeMap.NONE || holesByStart.key(hole) + holesByStart.value(hole) < (long) start + length) {
+            throw new IllegalStateException("Intervalo [" + start + ", " + (start + length) + ") não está livre.");
+        }
+        int holeStart = (int) holesByStart.key(hole);
+        int holeSize = holesByStart.value(hole);
+        int holeEnd = holeStart + holeSize;
+        removeHole(holeStart, holeSize);
+        if (start > holeStart) {
+            addHole(holeStart, start - holeStart);
+        }
+        if (start + length < holeEnd) {
+            addHole(start + length, holeEnd - (start + length));
+        }
+    }
+
+    // Devolve o intervalo [start, start + length), juntando com os buracos vizinhos
+    public void release(int start, int length) {
+        int newStart = start;
+        int newEnd = start + length;
+
+        int left = holesByStart.lower(start);
+        if (left != LongTreeMap.NONE && holesByStart.key(left) + holesByStart.value(left) == start) {
+            newStart = (int) holesByStart.key(left);
+            removeHole(newStart, holesByStart.value(left));
+        }
+        int rightSize = holesByStart.get(newEnd, -1);
+        if (rightSize != -1) {
+            removeHole(newEnd, rightSize);
+            newEnd += rightSize;
+        }
+        addHole(newStart, newEnd - newStart);
+    }
+
+    // Primeiro buraco (por endereço) com tamanho >= size, O(log buracos)
+    public int firstFit(int size) {
+        return startOf(holesByStart.firstWithValueAtLeast(0, size));
+    }
+
+    // Primeira posição a partir de 'from' (circular) onde cabe 'size'.
+    // Se 'from' cair no meio de um buraco, a própria posição é candidata.
+    public int nextFit(int from, int size) {
+        int current = holesByStart.floor(from);
+        if (current != LongTreeMap.NONE && holesByStart.key(current) + holesByStart.value(current) - from >= size) {
+            return from;
+        }
+        int hole = holesByStart.firstWithValueAtLeast((long) from + 1, size);
+        if (hole == LongTreeMap.NONE) {
+            hole = holesByStart.firstWithValueAtLeast(0, size); // Dá a volta (só pode estar antes de 'from')
+        }
+        return startOf(hole);
+    }
+
+    // Menor buraco com tamanho >= size (empate: menor endereço)
+    public int bestFit(int size) {
+        int node = holesBySize.ceiling((long) size << 32);
+        return node == LongTreeMap.NONE ? -1 : (int) (holesBySize.key(node) & 0xFFFFFFFFL);
+    }
+
+    // Maior buraco (empate: menor endereço), desde que caiba 'size'
+    public int worstFit(int size) {
+        int last = holesBySize.last();
+        if (last == LongTreeMap.NONE) {
+            return -1;
+        }
+        int largest = (int) (holesBySize.key(last) >>> 32);
+        if (largest < size) {
+            return -1;
+        }
+        return (int) (holesBySize.key(holesBySize.ceiling((long) largest << 32)) & 0xFFFFFFFFL);
+    }
+
+    // Início de um bloco de 2^order unidades alinhado em 2^order dentro de algum buraco
+    // (o menor que tiver um), ou -1. Buracos com menos de 2^(order+1) - 1 unidades podem não
+    // ter um bloco alinhado; depois de ALIGNED_PROBES deles, a busca pula direto para os
+    // buracos maiores, que sempre têm. Custo O(ALIGNED_PROBES * log buracos) no pior caso.
+    public int alignedFit(int order) {
+        long size = 1L << order;
+        long guaranteed = 2 * size - 1;
+        int node = holesBySize.ceiling(size << 32);
+        for (int probes = 0; node != LongTreeMap.NONE; probes++) {
+            long key = holesBySize.key(node);
+            long holeSize = key >>> 32;
+            long start = key & 0xFFFFFFFFL;
+            long aligned = (start + size - 1) & -size;
+            if (aligned + size <= start + holeSize) {
+                return (int) aligned;
+            }
+            // O buraco achado por ceiling(guaranteed) sempre serve, então o laço termina nele
+            node = probes < ALIGNED_PROBES ? holesBySize.higher(key) : holesBySize.ceiling(guaranteed << 32);
+        }
+        return -1;
+    }
+
+    // A unidade está dentro de algum buraco?
+    public boolean contains(int unit) {
+        int hole = holesByStart.floor(unit);
+        return hole != LongTreeMap.NONE && holesByStart.key(hole) + holesByStart.value(hole) > unit;
+    }
+
+    // Início do buraco de menor endereço, ou -1 se a memória estiver cheia
+    public int firstHoleStart() {
+        return startOf(holesByStart.first());
+    }
+
+    // Início do próximo buraco depois de 'start', ou -1 se não houver (para percorrer em ordem de endereço)
+    public int nextHoleStart(int start) {
+        return startOf(holesByStart.higher(start));
+    }
+
+    // Tamanho do buraco que começa em 'start' (-1 se não houver)
+    public int holeSizeAt(int start) {
+        return holesByStart.get(start, -1);
+    }
+
+    public int holeCount() {
+        return holesByStart.size();
+    }
+
+    private int startOf(int node) {
+        return node == LongTreeMap.NONE ? -1 : (int) holesByStart.key(node);
+    }
+
+    private void addHole(int start, int size) {
+        holesByStart.put(start, size);
+        holesBySize.put((long) size << 32 | start, 0);
+        stats.holeAdded(size);
+    }
+
+    private void removeHole(int start, int size) {
+        holesByStart.remove(start);
+        holesBySize.remove((long) size << 32 | start);
+        stats.holeRemoved(size);
+    }
+}
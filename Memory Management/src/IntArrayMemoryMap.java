@@ -0,0 +1,67 @@
+import java.util.Arrays;
+
+// Mapa de memória original: um int por unidade (0 = livre, 1 = ocupado)
+class IntArrayMemoryMap implements MemoryMap {
+    private final int[] memory;
+
+    public IntArrayMemoryMap(int size) {
+        this.memory = new int[size];
+    }
+
+    private IntArrayMemoryMap(int[] memory) {
+        this.memory = memory;
+    }
+
+    @Override
+    public IntArrayMemoryMap copy() {
+        return new IntArrayMemoryMap(memory.clone());
+    }
+
+    @Override
+    public int size() {
+        return memory.length;
+    }
+
+    @Override
+    public boolean isFree(int index) {
+        return memory[index] == 0;
+    }
+
+    @Override
+    public void occupy(int start, int length) {
+        Arrays.fill(memory, start, start + length, 1);
+    }
+
+    @Override
+    public void release(int start, int length) {
+        Arrays.fill(memory, start, start + length, 0);
+    }
+
+    @Override
+    public int nextFree(int from) {
+        int i = from;
+        while (i < memory.length && memory[i] == 1) {
+            i++;
+        }
+        return i;
+    }
+
+    @Override
+    public int nextUsed(int from) {
+        int i = from;
+        while (i < memory.length && memory[i] == 0) {
+            i++;
+        }
+        return i;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(memory, 0);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(memory);
+    }
+}
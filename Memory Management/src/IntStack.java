@@ -0,0 +1,49 @@
+import java.util.Arrays;
+
+// Pilha de inteiros sem boxing, usada nas listas livres dos alocadores
+class IntStack {
+    private int[] values;
+    private int size;
+
+    public IntStack() {
+        this(16);
+    }
+
+    public IntStack(int initialCapacity) {
+        this.values = new int[Math.max(1, initialCapacity)];
+    }
+
+    public IntStack copy() {
+        IntStack copy = new IntStack(values.length);
+        System.arraycopy(values, 0, copy.values, 0, size);
+        copy.size = size;
+        return copy;
+    }
+
+    public void push(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    public int pop() {
+        return values[--size];
+    }
+
+    public int get(int index) {
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,341 @@
+import java.util.Arrays;
+
+// Mapa ordenado de chaves long para valores int, sem boxing nem objetos por entrada.
+// Treap em arrays paralelos: os nós removidos voltam para uma lista livre e são
+// reaproveitados, então inserir e remover em regime permanente não cria objetos.
+// Cada nó guarda também o maior valor da sua subárvore, o que permite achar em
+// O(log n) a menor chave cujo valor é >= um limite (ex.: primeiro buraco que cabe).
+// Os métodos de navegação retornam o índice do nó (ou NONE); use key()/value().
+class LongTreeMap {
+    static final int NONE = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int[] maxValues;  // Maior valor da subárvore
+    private int[] priorities; // Heap por prioridade aleatória (mantém a árvore balanceada)
+    private int[] left;
+    private int[] right;      // Também encadeia a lista de nós livres
+    private int root = NONE;
+    private int size = 0;
+    private int usedNodes = 0; // Nós já entregues alguma vez (o resto do array nunca foi usado)
+    private int freeHead = NONE;
+    private int seed = 0x2545F491;
+
+    public LongTreeMap() {
+        this(16);
+    }
+
+    public LongTreeMap(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        keys = new long[capacity];
+        values = new int[capacity];
+        maxValues = new int[capacity];
+        priorities = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+    }
+
+    // Cópia independente (arrays clonados, O(n))
+    public LongTreeMap copy() {
+        LongTreeMap copy = new LongTreeMap(1);
+        copy.keys = keys.clone();
+        copy.values = values.clone();
+        copy.maxValues = maxValues.clone();
+        copy.priorities = priorities.clone();
+        copy.left = left.clone();
+        copy.right = right.clone();
+        copy.root = root;
+        copy.size = size;
+        copy.usedNodes = usedNodes;
+        copy.freeHead = freeHead;
+        copy.seed = seed;
+        return copy;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Esvazia o mapa, mantendo os arrays para reaproveitamento
+    public void clear() {
+        root = NONE;
+        size = 0;
+        usedNodes = 0;
+        freeHead = NONE;
+    }
+
+    // Insere a chave ou substitui o seu valor
+    public void put(long key, int value) {
+        root = insert(root, key, value);
+    }
+
+    // Retorna true se a chave existia
+    public boolean remove(long key) {
+        int before = size;
+        root = delete(root, key);
+        return size < before;
+    }
+
+    public boolean containsKey(long key) {
+        return find(key) != NONE;
+    }
+
+    // Valor da chave, ou 'missing' se ela não existir
+    public int get(long key, int missing) {
+        int node = find(key);
+        return node == NONE ? missing : values[node];
+    }
+
+    public long key(int node) {
+        return keys[node];
+    }
+
+    public int value(int node) {
+        return values[node];
+    }
+
+    public int first() {
+        int node = root;
+        if (node == NONE) {
+            return NONE;
+        }
+        while (left[node] != NONE) {
+            node = left[node];
+        }
+        return node;
+    }
+
+    public int last() {
+        int node = root;
+        if (node == NONE) {
+            return NONE;
+        }
+        while (right[node] != NONE) {
+            node = right[node];
+        }
+        return node;
+    }
+
+    // Menor chave >= key
+    public int ceiling(long key) {
+        int node = root;
+        int found = NONE;
+        while (node != NONE) {
+            if (keys[node] >= key) {
+                found = node;
+                node = left[node];
+            } else {
+                node = right[node];
+            }
+        }
+        return found;
+    }
+
+    // Menor chave > key
+    public int higher(long key) {
+        int node = root;
+        int found = NONE;
+        while (node != NONE) {
+            if (keys[node] > key) {
+                found = node;
+                node = left[node];
+            } else {
+                node = right[node];
+            }
+        }
+        return found;
+    }
+
+    // Maior chave <= key
+    public int floor(long key) {
+        int node = root;
+        int found = NONE;
+        while (node != NONE) {
+            if (keys[node] <= key) {
+                found = node;
+                node = right[node];
+            } else {
+                node = left[node];
+            }
+        }
+        return found;
+    }
+
+    // Maior chave < key
+    public int lower(long key) {
+        int node = root;
+        int found = NONE;
+        while (node != NONE) {
+            if (keys[node] < key) {
+                found = node;
+                node = right[node];
+            } else {
+                node = left[node];
+            }
+        }
+        return found;
+    }
+
+    // Menor chave >= fromKey cujo valor é >= minValue
+    public int firstWithValueAtLeast(long fromKey, int minValue) {
+        return firstWithValueAtLeast(root, fromKey, minValue);
+    }
+
+    private int firstWithValueAtLeast(int node, long fromKey, int minValue) {
+        if (node == NONE || maxValues[node] < minValue) {
+            return NONE;
+        }
+        if (keys[node] >= fromKey) {
+            int found = firstWithValueAtLeast(left[node], fromKey, minValue);
+            if (found != NONE) {
+                return found;
+            }
+            if (values[node] >= minValue) {
+                return node;
+            }
+        }
+        return firstWithValueAtLeast(right[node], fromKey, minValue);
+    }
+
+    private int find(long key) {
+        int node = root;
+        while (node != NONE && keys[node] != key) {
+            node = key < keys[node] ? left[node] : right[node];
+        }
+        return node;
+    }
+
+    // Os filhos são lidos em variáveis antes da atribuição porque newNode() pode
+    // trocar os arrays (a atribuição 'left[node] = insert(...)' usaria o array antigo)
+    private int insert(int node, long key, int value) {
+        if (node == NONE) {
+            size++;
+            return newNode(key, value);
+        }
+        if (key == keys[node]) {
+            values[node] = value;
+        } else if (key < keys[node]) {
+            int child = insert(left[node], key, value);
+            left[node] = child;
+            if (priorities[child] > priorities[node]) {
+                return rotateRight(node);
+            }
+        } else {
+            int child = insert(right[node], key, value);
+            right[node] = child;
+            if (priorities[child] > priorities[node]) {
+                return rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private int delete(int node, long key) {
+        if (node == NONE) {
+            return NONE;
+        }
+        if (key < keys[node]) {
+            left[node] = delete(left[node], key);
+        } else if (key > keys[node]) {
+            right[node] = delete(right[node], key);
+        } else {
+            int merged = merge(left[node], right[node]);
+            freeNode(node);
+            size--;
+            return merged;
+        }
+        update(node);
+        return node;
+    }
+
+    // Junta duas subárvores em que todas as chaves de 'a' são menores que as de 'b'
+    private int merge(int a, int b) {
+        if (a == NONE) {
+            return b;
+        }
+        if (b == NONE) {
+            return a;
+        }
+        if (priorities[a] > priorities[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private int rotateRight(int node) {
+        int pivot = left[node];
+        left[node] = right[pivot];
+        right[pivot] = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private int rotateLeft(int node) {
+        int pivot = right[node];
+        right[node] = left[pivot];
+        left[pivot] = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(int node) {
+        int max = values[node];
+        if (left[node] != NONE) {
+            max = Math.max(max, maxValues[left[node]]);
+        }
+        if (right[node] != NONE) {
+            max = Math.max(max, maxValues[right[node]]);
+        }
+        maxValues[node] = max;
+    }
+
+    private int newNode(long key, int value) {
+        int node;
+        if (freeHead != NONE) {
+            node = freeHead;
+            freeHead = right[node];
+        } else {
+            if (usedNodes == keys.length) {
+                grow();
+            }
+            node = usedNodes++;
+        }
+        // xorshift: prioridades pseudoaleatórias sem criar objetos
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        keys[node] = key;
+        values[node] = value;
+        maxValues[node] = value;
+        priorities[node] = seed;
+        left[node] = NONE;
+        right[node] = NONE;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        right[node] = freeHead;
+        freeHead = node;
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        maxValues = Arrays.copyOf(maxValues, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+    }
+}
@@ -1,12 +1,68 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 // Classe principal que executa a simulação
 public class MemoryManagementSimulator {
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--concurrent")) {
+            runConcurrentBenchmark(args.length > 1 ? args[1] : "Best Fit");
+            return;
+        }
+        // --replay <arquivo> [algoritmo] [tamanho da memória]
+        if (args.length > 1 && args[0].equals("--replay")) {
+            runReplay(args[1], args.length > 2 ? args[2] : "First Fit",
+                    args.length > 3 ? Integer.parseInt(args[3]) : 1 << 20);
+            return;
+        }
+        // --offheap [algoritmo] [arquivo]: arena fora do heap (mapeada se houver arquivo)
+        if (args.length > 0 && args[0].equals("--offheap")) {
+            runOffHeapDemo(args.length > 1 ? args[1] : "Best Fit", args.length > 2 ? args[2] : null);
+            return;
+        }
+        // --compare [sementes] [tamanho da memória]: mesma carga para todas as estratégias, em paralelo
+        if (args.length > 0 && args[0].equals("--compare")) {
+            runComparison(args.length > 1 ? Integer.parseInt(args[1]) : 30,
+                    args.length > 2 ? Integer.parseInt(args[2]) : 1024);
+            return;
+        }
+        // --generate-trace <arquivo> <eventos> [processos] [semente]
+        if (args.length > 2 && args[0].equals("--generate-trace")) {
+            generateTrace(args[1], Long.parseLong(args[2]),
+                    args.length > 3 ? Integer.parseInt(args[3]) : 1000,
+                    args.length > 4 ? Long.parseLong(args[4]) : 42L);
+            return;
+        }
+
         final int MEMORY_SIZE = 32;
         final int SIMULATION_STEPS = 30;
 
+        // --compaction <None|On Failure|Incremental|Full> [unidades por passo]
+        // --record <arquivo>: grava o trace da simulação do primeiro algoritmo
+        // --seed <n>: semente dos sorteios (a mesma sequência para todos os algoritmos)
+        // --what-if: antes de cada alocação, mostra o que cada algoritmo faria (num snapshot)
+        String compactionPolicy = "None";
+        int compactionBudget = 4;
+        String recordPath = null;
+        long seed = System.nanoTime();
+        boolean whatIf = false;
+        for (int a = 0; a < args.length; a++) {
+            if (args[a].equals("--compaction") && a + 1 < args.length) {
+                compactionPolicy = args[++a];
+                if (a + 1 < args.length && args[a + 1].matches("\\d+")) {
+                    compactionBudget = Integer.parseInt(args[++a]);
+                }
+            } else if (args[a].equals("--record") && a + 1 < args.length) {
+                recordPath = args[++a];
+            } else if (args[a].equals("--seed") && a + 1 < args.length) {
+                seed = Long.parseLong(args[++a]);
+            } else if (args[a].equals("--what-if")) {
+                whatIf = true;
+            }
+        }
+
         // Lista de processos disponíveis
         List<Process> processes = Arrays.asList(
                 new Process("P1", 5), new Process("P2", 4), new Process("P3", 2),
@@ -16,15 +72,31 @@ public class MemoryManagementSimulator {
         );
 
         // Algoritmos a serem simulados
-        String[] algorithms = {"First Fit", "Next Fit", "Best Fit", "Worst Fit", "Quick Fit"};
-        Random random = new Random();
+        String[] algorithms = {"First Fit", "Next Fit", "Best Fit", "Worst Fit", "Quick Fit", "Buddy"};
+        System.out.println("Semente dos sorteios: " + seed);
+
+        TraceRecorder recorder = null;
+        if (recordPath != null) {
+            try {
+                recorder = new TraceRecorder(recordPath);
+            } catch (IOException e) {
+                System.err.println("Erro ao criar o trace: " + e.getMessage());
+                return;
+            }
+        }
 
         for (String algorithm : algorithms) {
             System.out.println("\n=========================================================");
             System.out.println("INICIANDO SIMULAÇÃO COM O ALGORITMO: " + algorithm);
             System.out.println("=========================================================");
 
+            // Cada algoritmo recebe a mesma sequência de sorteios
+            Random random = new Random(seed);
             MemoryManager manager = new MemoryManager(MEMORY_SIZE);
+            manager.setCompactionPolicy(compactionPolicy, compactionBudget);
+            if (recorder != null && algorithm.equals(algorithms[0])) {
+                manager.setTraceRecorder(recorder);
+            }
             System.out.println("Estado inicial da memória:");
             manager.printMemoryMap();
             System.out.println("---------------------------------------------------------");
@@ -40,6 +112,9 @@ public class MemoryManagementSimulator {
                     manager.deallocate(randomProcess);
                 } else {
                     System.out.println("Processo " + randomProcess.getId() + " não está na memória. Tentando alocar...");
+                    if (whatIf) {
+                        printWhatIf(manager, randomProcess, algorithms);
+                    }
                     manager.allocate(randomProcess, algorithm);
                 }
 
@@ -47,6 +122,298 @@ public class MemoryManagementSimulator {
                 manager.printFragmentationStats(processes);
                 System.out.println("---------------------------------------------------------");
             }
+
+            if (!compactionPolicy.equals("None")) {
+                manager.printCompactionStats();
+            }
         }
+
+        if (recorder != null) {
+            try {
+                recorder.close();
+                System.out.println("\nTrace com " + recorder.getEventCount() + " eventos (" + algorithms[0] + ") gravado em '" + recordPath + "'.");
+            } catch (IOException e) {
+                System.err.println("Erro ao fechar o trace: " + e.getMessage());
+            }
+        }
+
+        runSlabSimulation(processes, new Random(seed), MEMORY_SIZE, SIMULATION_STEPS);
+    }
+
+    // Avalia a alocação com cada algoritmo em um snapshot descartável do estado atual
+    private static void printWhatIf(MemoryManager manager, Process process, String[] algorithms) {
+        StringBuilder sb = new StringBuilder("  E se:");
+        for (String alternative : algorithms) {
+            MemoryManager fork = manager.snapshot();
+            fork.setVerbose(false);
+            int startBlock = fork.allocate(process, alternative);
+            sb.append(' ').append(alternative).append(" -> ");
+            if (startBlock == -1) {
+                sb.append("falha");
+            } else {
+                sb.append("bloco ").append(startBlock).append(" (").append(fork.getFragmentationStats().getHoleCount()).append(" buracos)");
+            }
+            sb.append(';');
+        }
+        System.out.println(sb);
+    }
+
+    private static void runComparison(int seeds, int memorySize) {
+        final int PROCESS_COUNT = 64;
+        final int MAX_PROCESS_SIZE = Math.max(1, memorySize / 32);
+        final int EVENTS = 200_000;
+        final long BASE_SEED = 1;
+        String[] algorithms = {"First Fit", "Next Fit", "Best Fit", "Worst Fit", "Quick Fit", "Buddy"};
+        int parallelism = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("=========================================================");
+        System.out.println("COMPARAÇÃO DAS ESTRATÉGIAS (" + seeds + " sementes x " + algorithms.length
+                + " estratégias, " + parallelism + " threads)");
+        System.out.println("Memória de " + memorySize + " unidades, " + PROCESS_COUNT + " processos de tamanho 1 a "
+                + MAX_PROCESS_SIZE + ", " + EVENTS + " eventos por carga. Intervalos de confiança de 95%.");
+        System.out.println("=========================================================");
+
+        StrategyComparison comparison = new StrategyComparison(memorySize, PROCESS_COUNT, MAX_PROCESS_SIZE, EVENTS);
+        long startTime = System.nanoTime();
+        List<List<StrategyComparison.RunResult>> results;
+        try {
+            results = comparison.run(algorithms, seeds, BASE_SEED, parallelism);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        comparison.printReport(algorithms, results);
+        System.out.printf("%d execuções em %.2f s.%n", seeds * algorithms.length, seconds);
+    }
+
+    // Mesma carga, mas com os processos servidos por uma camada de slabs sobre o Best Fit
+    private static void runSlabSimulation(List<Process> processes, Random random, int memorySize, int steps) {
+        System.out.println("\n=========================================================");
+        System.out.println("INICIANDO SIMULAÇÃO COM A CAMADA DE SLABS (sobre Best Fit)");
+        System.out.println("=========================================================");
+
+        MemoryManager manager = new MemoryManager(memorySize);
+        manager.setVerbose(false);
+        SlabAllocator slabs = new SlabAllocator(manager, "Best Fit", 2, 1);
+
+        for (int i = 1; i <= steps; i++) {
+            Process randomProcess = processes.get(random.nextInt(processes.size()));
+            System.out.println("\nPasso " + i + ": Processo sorteado -> " + randomProcess);
+
+            if (slabs.getAddress(randomProcess) != -1) {
+                slabs.deallocate(randomProcess);
+                System.out.println("Processo " + randomProcess.getId() + " liberado do seu slab.");
+            } else {
+                int address = slabs.allocate(randomProcess);
+                if (address != -1) {
+                    System.out.println("Processo " + randomProcess.getId() + " alocado no endereço " + address + ".");
+                } else {
+                    System.out.println("Erro: Sem memória para um novo slab do Processo " + randomProcess.getId() + ".");
+                }
+            }
+
+            manager.printMemoryMap();
+            slabs.printSlabStats();
+            System.out.println("---------------------------------------------------------");
+        }
+    }
+
+    // Mede quantas alocações por segundo o ConcurrentMemoryManager sustenta
+    // conforme o número de threads cresce (1, 2, 4, ... até o número de núcleos)
+    private static void runConcurrentBenchmark(String algorithm) {
+        final int MEMORY_SIZE = 1 << 20;
+        final int OPERATIONS_PER_THREAD = 200_000;
+        final int PROCESSES_PER_THREAD = 64;
+        final int maxThreads = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("=========================================================");
+        System.out.println("DESEMPENHO CONCORRENTE (" + algorithm + ", " + maxThreads + " arenas)");
+        System.out.println("=========================================================");
+
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            ConcurrentMemoryManager manager = new ConcurrentMemoryManager(MEMORY_SIZE, maxThreads, BitsetMemoryMap::new);
+            AtomicLong allocations = new AtomicLong();
+            Thread[] workers = new Thread[threads];
+
+            for (int t = 0; t < threads; t++) {
+                final int threadId = t;
+                workers[t] = new Thread(() -> {
+                    // Cada thread tem os seus próprios processos (tamanhos 2 a 8)
+                    Random random = new Random(threadId);
+                    Process[] own = new Process[PROCESSES_PER_THREAD];
+                    for (int i = 0; i < own.length; i++) {
+                        own[i] = new Process("T" + threadId + "-P" + i, 2 + random.nextInt(7));
+                    }
+                    long count = 0;
+                    for (int op = 0; op < OPERATIONS_PER_THREAD; op++) {
+                        Process p = own[random.nextInt(own.length)];
+                        if (manager.isProcessAllocated(p)) {
+                            manager.deallocate(p);
+                        } else if (manager.allocate(p, algorithm) != -1) {
+                            count++;
+                        }
+                    }
+                    allocations.addAndGet(count);
+                });
+            }
+
+            long startTime = System.nanoTime();
+            for (Thread worker : workers) {
+                worker.start();
+            }
+            for (Thread worker : workers) {
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+
+            System.out.printf("%3d threads: %,d alocações em %.3f s -> %,.0f alocações/s%n",
+                    threads, allocations.get(), seconds, allocations.get() / seconds);
+
+            if (threads == maxThreads) {
+                break;
+            }
+        }
+    }
+
+    // Reproduz um trace binário sem imprimir cada evento: a vazão fica limitada pelo
+    // alocador, não pelo console. Só os processos vivos ficam na memória do Java.
+    private static void runReplay(String path, String algorithm, int memorySize) {
+        MemoryManager manager = new MemoryManager(new BitsetMemoryMap(memorySize));
+        manager.setVerbose(false);
+        Map<Integer, Process> live = new HashMap<>();
+        long allocations = 0;
+        long failures = 0;
+        long frees = 0;
+        long events = 0;
+
+        long startTime = System.nanoTime();
+        try (TraceReader trace = new TraceReader(path)) {
+            while (trace.next()) {
+                events++;
+                int id = trace.processId();
+                if (trace.isFree()) {
+                    Process process = live.remove(id);
+                    if (process != null) {
+                        manager.deallocate(process);
+                        frees++;
+                    }
+                } else if (!live.containsKey(id)) {
+                    Process process = new Process("P" + id, trace.size());
+                    if (manager.allocate(process, algorithm) != -1) {
+                        live.put(id, process);
+                        allocations++;
+                    } else {
+                        failures++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao ler o trace: " + e.getMessage());
+            return;
+        }
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        FragmentationStats stats = manager.getFragmentationStats();
+        System.out.println("=========================================================");
+        System.out.println("REPRODUÇÃO DO TRACE '" + path + "' COM " + algorithm + " (memória de " + memorySize + " unidades)");
+        System.out.println("=========================================================");
+        System.out.printf("Eventos: %,d em %.3f s (%,.0f eventos/s)%n", events, seconds, events / seconds);
+        System.out.printf("Alocações: %,d | Falhas: %,d (%.2f%%) | Liberações: %,d%n",
+                allocations, failures, allocations + failures == 0 ? 0.0 : 100.0 * failures / (allocations + failures), frees);
+        System.out.printf("Estado final: %,d buracos, %,d unidades livres, maior buraco de %,d unidades.%n",
+                stats.getHoleCount(), stats.getFreeUnits(), stats.getLargestHole());
+    }
+
+    // Gera um trace sintético no mesmo padrão da simulação (processos de tamanho 2 a 8
+    // alternando entre alocar e liberar), útil para testar a reprodução em grande escala
+    private static void generateTrace(String path, long events, int processCount, long seed) {
+        Random random = new Random(seed);
+        int[] sizes = new int[processCount];
+        boolean[] requested = new boolean[processCount];
+        for (int i = 0; i < processCount; i++) {
+            sizes[i] = 2 + random.nextInt(7);
+        }
+        try (TraceRecorder recorder = new TraceRecorder(path)) {
+            for (long e = 0; e < events; e++) {
+                int id = random.nextInt(processCount);
+                if (requested[id]) {
+                    recorder.recordFree(id);
+                } else {
+                    recorder.recordAllocate(id, sizes[id]);
+                }
+                requested[id] = !requested[id];
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar o trace: " + e.getMessage());
+            return;
+        }
+        System.out.printf("Trace com %,d eventos gravado em '%s'.%n", events, path);
+    }
+
+    // Usa a arena fora do heap como pool de buffers: cada processo grava um padrão na
+    // sua fatia, e o padrão é conferido antes da liberação (fatias não podem se sobrepor)
+    private static void runOffHeapDemo(String algorithm, String path) {
+        final int UNITS = 1 << 16;
+        final int UNIT_BYTES = 64;
+        final int STEPS = 100_000;
+        final int PROCESS_COUNT = 512;
+
+        System.out.println("=========================================================");
+        System.out.println("ARENA FORA DO HEAP (" + algorithm + ", " + UNITS + " x " + UNIT_BYTES + " bytes"
+                + (path != null ? ", mapeada em '" + path + "'" : ", direta") + ")");
+        System.out.println("=========================================================");
+
+        Random random = new Random(42);
+        Process[] processes = new Process[PROCESS_COUNT];
+        for (int i = 0; i < processes.length; i++) {
+            processes[i] = new Process("P" + i, 1 + random.nextInt(64));
+        }
+
+        long allocations = 0;
+        long failures = 0;
+        long corrupted = 0;
+        long startTime = System.nanoTime();
+        try (OffHeapArena arena = path != null
+                ? OffHeapArena.mapped(path, UNITS, UNIT_BYTES)
+                : new OffHeapArena(UNITS, UNIT_BYTES)) {
+            for (int step = 0; step < STEPS; step++) {
+                int index = random.nextInt(processes.length);
+                Process process = processes[index];
+                ByteBuffer buffer = arena.getBuffer(process);
+                if (buffer != null) {
+                    for (int i = 0; i < buffer.limit(); i += 8) {
+                        if (buffer.getLong(i) != index) {
+                            corrupted++;
+                            break;
+                        }
+                    }
+                    arena.deallocate(process);
+                } else if ((buffer = arena.allocate(process, algorithm)) != null) {
+                    for (int i = 0; i < buffer.limit(); i += 8) {
+                        buffer.putLong(i, index);
+                    }
+                    allocations++;
+                } else {
+                    failures++;
+                }
+            }
+            FragmentationStats stats = arena.getFragmentationStats();
+            System.out.printf("Ao final: %,d unidades livres em %,d buracos (maior: %,d).%n",
+                    stats.getFreeUnits(), stats.getHoleCount(), stats.getLargestHole());
+        } catch (IOException e) {
+            System.err.println("Erro na arena mapeada: " + e.getMessage());
+            return;
+        }
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        System.out.printf("%,d alocações, %,d falhas, %,d fatias corrompidas em %.3f s%n",
+                allocations, failures, corrupted, seconds);
     }
 }
\ No newline at end of file
@@ -2,67 +2,211 @@ import java.util.*;
 
 // Classe que gerencia a memória e os algoritmos de alocação
 class MemoryManager {
-    private final int[] memory;
+    private final MemoryMap memory;
     private final int memorySize;
+    private final HoleIndex holes; // Buracos livres indexados por endereço e por tamanho
+    private final FragmentationStats stats; // Atualizadas a cada operação
     private int lastPlacementIndex = 0; // Para o Next Fit
     private final Map<String, Integer> allocatedProcesses; // Mapeia ID do processo para o bloco inicial
     private final Map<String, Integer> processOriginalSize; // Mapeia ID do processo para seu tamanho real
-
-    // Estrutura de dados para o Quick Fit
-    private final Map<Integer, List<Integer>> quickFitFreeLists;
-    private static final int QUICK_FIT_BLOCK_SIZE = 8; // Tamanho da partição fixa
+    private final Map<String, String> processAlgorithm; // Mapeia ID do processo para o algoritmo que o alocou
+    private final Map<Integer, String> processAtBlock; // Mapeia o bloco inicial para o ID do processo (compactação)
+
+    // API por handles (ver allocateHandle): arrays paralelos indexados pelo handle
+    private int[] handleStart = new int[16];          // -1 = handle livre
+    private int[] handleSize = new int[16];
+    private String[] handleAlgorithm = new String[16]; // Referência às constantes, sem cópia
+    private int handleCount = 0;                      // Handles já entregues alguma vez
+    private final IntStack freeHandles;
+    private final LongTreeMap handleAtBlock; // Bloco inicial -> handle (compactação)
+
+    // Quick Fit com listas separadas por classe de tamanho
+    private QuickFitAllocator quickFit;
+
+    // Sistema Buddy, criado no primeiro uso; é dono exclusivo das regiões que tira dos buracos
+    private BuddyAllocator buddy;
+
+    // Mensagens de alocação/desalocação no console (desligar em camadas e medições)
+    private boolean verbose = true;
+
+    // Gravação opcional dos pedidos em um trace binário
+    private TraceRecorder recorder;
+
+    // Compactação: "None", "On Failure", "Incremental" ou "Full"
+    private String compactionPolicy = "None";
+    private int incrementalBudget = 0;   // Unidades movidas por passo no modo incremental
+    private long compactionCredit = 0;   // Crédito acumulado quando o próximo bloco é maior que o passo
+    private int compactions = 0;
+    private long totalUnitsMoved = 0;
+    private long totalBlocksMoved = 0;
+    private long totalCompactionNanos = 0;
+    private int allocationFailures = 0;
 
     public MemoryManager(int size) {
-        this.memorySize = size;
-        this.memory = new int[size];
-        Arrays.fill(memory, 0); // 0 = livre, 1 = ocupado
+        this(new IntArrayMemoryMap(size));
+    }
+
+    // Permite escolher a representação do mapa (ex.: BitsetMemoryMap para memórias grandes)
+    public MemoryManager(MemoryMap memory) {
+        this.memorySize = memory.size();
+        this.memory = memory; // 0 = livre, 1 = ocupado
+        this.stats = new FragmentationStats();
+        this.holes = new HoleIndex(memorySize, stats);
+        holes.rebuild(memory);
         this.allocatedProcesses = new HashMap<>();
         this.processOriginalSize = new HashMap<>();
+        this.processAlgorithm = new HashMap<>();
+        this.processAtBlock = new HashMap<>();
+        this.freeHandles = new IntStack();
+        this.handleAtBlock = new LongTreeMap();
 
-        // Inicialização do Quick Fit
-        this.quickFitFreeLists = new HashMap<>();
-        initializeQuickFitLists();
+        // Por padrão, as classes do Quick Fit são aprendidas pelos tamanhos mais pedidos
+        this.quickFit = new QuickFitAllocator(holes, stats);
     }
 
-    // Inicializa as listas de blocos livres para o Quick Fit
-    private void initializeQuickFitLists() {
-        List<Integer> freeBlocksOfSize = new ArrayList<>();
-        // Divide a memória em partições de tamanho QUICK_FIT_BLOCK_SIZE
-        for (int i = 0; i < memorySize; i += QUICK_FIT_BLOCK_SIZE) {
-            freeBlocksOfSize.add(i);
-        }
-        quickFitFreeLists.put(QUICK_FIT_BLOCK_SIZE, freeBlocksOfSize);
+    // Snapshot: estado independente que continua a partir do estado de 'source'.
+    // O mapa de memória é copiado com copy() (em O(páginas) no PagedBitsetMemoryMap,
+    // que compartilha as páginas até a primeira escrita); as estruturas proporcionais
+    // aos buracos e processos são copiadas. O trace não é herdado.
+    private MemoryManager(MemoryManager source) {
+        this.memory = source.memory.copy();
+        this.memorySize = source.memorySize;
+        this.stats = source.stats.copy();
+        this.holes = source.holes.copy(stats);
+        this.lastPlacementIndex = source.lastPlacementIndex;
+        this.allocatedProcesses = new HashMap<>(source.allocatedProcesses);
+        this.processOriginalSize = new HashMap<>(source.processOriginalSize);
+        this.processAlgorithm = new HashMap<>(source.processAlgorithm);
+        this.processAtBlock = new HashMap<>(source.processAtBlock);
+        this.handleStart = source.handleStart.clone();
+        this.handleSize = source.handleSize.clone();
+        this.handleAlgorithm = source.handleAlgorithm.clone();
+        this.handleCount = source.handleCount;
+        this.freeHandles = source.freeHandles.copy();
+        this.handleAtBlock = source.handleAtBlock.copy();
+        this.quickFit = source.quickFit.copy(holes, stats);
+        this.buddy = source.buddy == null ? null : source.buddy.copy(holes);
+        this.verbose = source.verbose;
+        this.compactionPolicy = source.compactionPolicy;
+        this.incrementalBudget = source.incrementalBudget;
+        this.compactionCredit = source.compactionCredit;
+        this.compactions = source.compactions;
+        this.totalUnitsMoved = source.totalUnitsMoved;
+        this.totalBlocksMoved = source.totalBlocksMoved;
+        this.totalCompactionNanos = source.totalCompactionNanos;
+        this.allocationFailures = source.allocationFailures;
+    }
+
+    // Tira um snapshot para simular decisões ("e se?") sem alterar este estado.
+    // O snapshot é descartável: basta deixar de usá-lo.
+    public MemoryManager snapshot() {
+        return new MemoryManager(this);
+    }
+
+    // Fixa as classes de tamanho do Quick Fit (em vez de aprendê-las)
+    public void setQuickFitSizes(int... sizes) {
+        quickFit.flush();
+        quickFit = new QuickFitAllocator(holes, stats, sizes);
     }
 
 
-    // Método de alocação genérico que chama o algoritmo específico
-    public void allocate(Process process, String algorithm) {
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    // Passa a gravar cada pedido de alocação/liberação no trace (null desliga)
+    public void setTraceRecorder(TraceRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    // Método de alocação genérico que chama o algoritmo específico.
+    // Retorna o bloco inicial, ou -1 se a alocação falhar.
+    public int allocate(Process process, String algorithm) {
+        if (recorder != null) {
+            recorder.recordAllocate(process);
+        }
         if (allocatedProcesses.containsKey(process.getId())) {
-            System.out.println("Processo " + process.getId() + " já está na memória. Impossível alocar novamente.");
-            return;
+            if (verbose) {
+                System.out.println("Processo " + process.getId() + " já está na memória. Impossível alocar novamente.");
+            }
+            return -1;
         }
 
-        int startBlock = -1;
-        startBlock = switch (algorithm) {
-            case "First Fit" -> firstFit(process);
-            case "Next Fit" -> nextFit(process);
-            case "Best Fit" -> bestFit(process);
-            case "Worst Fit" -> worstFit(process);
-            case "Quick Fit" -> quickFit(process);
-            default -> startBlock;
-        };
+        int startBlock = placeWithCompaction(process.getSize(), algorithm);
 
         if (startBlock != -1) {
             // Marca como ocupado apenas o tamanho real do processo
-            for (int i = 0; i < process.getSize(); i++) {
-                memory[startBlock + i] = 1;
-            }
+            memory.occupy(startBlock, process.getSize());
             allocatedProcesses.put(process.getId(), startBlock);
             processOriginalSize.put(process.getId(), process.getSize()); // Armazena o tamanho real
-            System.out.println("Processo " + process.getId() + " alocado no bloco " + startBlock + ".");
+            processAlgorithm.put(process.getId(), algorithm);
+            processAtBlock.put(startBlock, process.getId());
+            stats.processAllocated(process);
+            if (verbose) {
+                System.out.println("Processo " + process.getId() + " alocado no bloco " + startBlock + ".");
+            }
         } else {
-            System.out.println("Erro: Espaço insuficiente para alocar o Processo " + process.getId() + " (" + algorithm + ").");
+            allocationFailures++;
+            if (verbose) {
+                System.out.println("Erro: Espaço insuficiente para alocar o Processo " + process.getId() + " (" + algorithm + ").");
+            }
+        }
+
+        compactAfterOperation();
+        return startBlock;
+    }
+
+    // Escolhe o bloco e, se falhou só por fragmentação, compacta e tenta de novo
+    private int placeWithCompaction(int size, String algorithm) {
+        int startBlock = place(size, algorithm);
+        if (startBlock == -1 && compactionPolicy.equals("On Failure") && freeUnits() >= size) {
+            CompactionReport report = compact();
+            if (verbose) {
+                System.out.println(report);
+            }
+            startBlock = place(size, algorithm);
+        }
+        return startBlock;
+    }
+
+    // Escolhe o bloco inicial com o algoritmo pedido (já reservado no índice de buracos).
+    // Antes de falhar, devolve ao índice o espaço livre guardado pelo Quick Fit e pelo Buddy
+    // e tenta de novo.
+    private int place(int size, String algorithm) {
+        int startBlock = placeWith(size, algorithm);
+        if (startBlock == -1 && releaseReservedSpace()) {
+            startBlock = placeWith(size, algorithm);
         }
+        return startBlock;
+    }
+
+    private int placeWith(int size, String algorithm) {
+        return switch (algorithm) {
+            case "First Fit" -> firstFit(size);
+            case "Next Fit" -> nextFit(size);
+            case "Best Fit" -> bestFit(size);
+            case "Worst Fit" -> worstFit(size);
+            case "Quick Fit" -> quickFit(size);
+            case "Buddy" -> buddyFit(size);
+            default -> -1;
+        };
+    }
+
+    // Devolve os blocos das listas do Quick Fit e a reserva do Buddy ao índice de buracos.
+    // Retorna se algo foi devolvido. Vale também para o próprio Buddy: um bloco livre da
+    // reserva não se junta com o buraco vizinho enquanto não volta ao índice, e a região
+    // que faltou pode surgir dessa junção.
+    // O Quick Fit vai primeiro: a reserva do Buddy pode encostar em blocos guardados por ele.
+    private boolean releaseReservedSpace() {
+        boolean released = false;
+        if (quickFit.cachedBlockCount() > 0) {
+            quickFit.flush();
+            released = true;
+        }
+        if (buddy != null && buddy.flush() > 0) {
+            released = true;
+        }
+        return released;
     }
 
     // Libera a memória ocupada por um processo
@@ -70,208 +214,370 @@ class MemoryManager {
         if (!allocatedProcesses.containsKey(process.getId())) {
             return;
         }
+        if (recorder != null) {
+            recorder.recordFree(process);
+        }
 
         int startBlock = allocatedProcesses.get(process.getId());
         int originalSize = processOriginalSize.get(process.getId()); // Usa o tamanho real para desalocar
 
-        for (int i = 0; i < originalSize; i++) {
-            // Garante que não ultrapasse os limites da memória
-            if (startBlock + i < memorySize) {
-                memory[startBlock + i] = 0;
-            }
-        }
+        // Garante que não ultrapasse os limites da memória
+        int releasedSize = Math.min(originalSize, memorySize - startBlock);
+        memory.release(startBlock, releasedSize);
 
-        // Lógica para Quick Fit: devolver a partição inteira à lista
-        if (startBlock % QUICK_FIT_BLOCK_SIZE == 0) {
-            List<Integer> freeList = quickFitFreeLists.get(QUICK_FIT_BLOCK_SIZE);
-            if (freeList != null && !freeList.contains(startBlock)) {
-                freeList.add(startBlock);
-                Collections.sort(freeList); // Mantém a lista ordenada
-            }
-        }
+        releaseBlock(startBlock, releasedSize, processAlgorithm.get(process.getId()));
 
         allocatedProcesses.remove(process.getId());
         processOriginalSize.remove(process.getId());
-        System.out.println("Processo " + process.getId() + " desalocado da memória.");
-    }
-
-    // Algoritmo First Fit
-    private int firstFit(Process process) {
-        int processSize = process.getSize();
-        for (int i = 0; i <= memorySize - processSize; i++) {
-            boolean fit = true;
-            for (int j = 0; j < processSize; j++) {
-                if (memory[i + j] == 1) {
-                    fit = false;
-                    i += j;
-                    break;
-                }
-            }
-            if (fit) {
-                return i;
-            }
+        processAlgorithm.remove(process.getId());
+        processAtBlock.remove(startBlock);
+        stats.processReleased(process);
+        if (verbose) {
+            System.out.println("Processo " + process.getId() + " desalocado da memória.");
         }
-        return -1;
+
+        compactAfterOperation();
     }
 
-    // Algoritmo Next Fit
-    private int nextFit(Process process) {
-        int processSize = process.getSize();
-        int initialIndex = lastPlacementIndex;
-        int currentIndex = initialIndex;
-
-        do {
-            if (currentIndex + processSize <= memorySize) {
-                boolean fit = true;
-                for (int j = 0; j < processSize; j++) {
-                    if (memory[currentIndex + j] == 1) {
-                        fit = false;
-                        currentIndex += j;
-                        break;
-                    }
-                }
-                if (fit) {
-                    lastPlacementIndex = (currentIndex + processSize) % memorySize;
-                    return currentIndex;
-                }
-            }
-            currentIndex = (currentIndex + 1) % memorySize;
-        } while (currentIndex != initialIndex);
-
-        return -1;
-    }
-
-    // Algoritmo Best Fit
-    private int bestFit(Process process) {
-        int processSize = process.getSize();
-        int bestFitIndex = -1;
-        int minWaste = Integer.MAX_VALUE;
-
-        for (int i = 0; i <= memorySize - processSize; i++) {
-            if (memory[i] == 0) {
-                int currentHoleSize = 0;
-                while (i + currentHoleSize < memorySize && memory[i + currentHoleSize] == 0) {
-                    currentHoleSize++;
-                }
-
-                if (currentHoleSize >= processSize) {
-                    int waste = currentHoleSize - processSize;
-                    if (waste < minWaste) {
-                        minWaste = waste;
-                        bestFitIndex = i;
-                    }
-                }
-                i += currentHoleSize - 1;
-            }
+    // Devolve o bloco ao alocador que o entregou (o mapa de memória já foi liberado)
+    private void releaseBlock(int startBlock, int size, String algorithm) {
+        if ("Buddy".equals(algorithm)) {
+            // O bloco inteiro (potência de 2) volta à reserva do Buddy
+            buddy.free(startBlock, size);
+            return;
         }
-        return bestFitIndex;
-    }
-
-    // Algoritmo Worst Fit
-    private int worstFit(Process process) {
-        int processSize = process.getSize();
-        int worstFitIndex = -1;
-        int maxWaste = -1;
-
-        for (int i = 0; i <= memorySize - processSize; i++) {
-            if (memory[i] == 0) {
-                int currentHoleSize = 0;
-                while (i + currentHoleSize < memorySize && memory[i + currentHoleSize] == 0) {
-                    currentHoleSize++;
-                }
-
-                if (currentHoleSize >= processSize) {
-                    int waste = currentHoleSize - processSize;
-                    if (waste > maxWaste) {
-                        maxWaste = waste;
-                        worstFitIndex = i;
-                    }
-                }
-                i += currentHoleSize - 1;
-            }
+        int end = startBlock + size;
+        boolean touchesFree = (startBlock > 0 && memory.isFree(startBlock - 1))
+                || (end < memorySize && memory.isFree(end));
+        // Blocos do Quick Fit sem vizinho livre voltam para a lista da sua classe em O(1)
+        if ("Quick Fit".equals(algorithm) && !touchesFree && quickFit.cache(startBlock, size)) {
+            return;
+        }
+        // O buraco novo não pode encostar num bloco guardado pelo Quick Fit (seriam dois
+        // buracos contados para um espaço contínuo): nesse caso as listas voltam ao índice
+        if (touchesFree && quickFit.cachedBlockCount() > 0
+                && (isReservedUnit(startBlock - 1) || isReservedUnit(end))) {
+            quickFit.flush();
         }
-        return worstFitIndex;
+        holes.release(startBlock, size);
+    }
+
+    // Unidade livre no mapa que não está em nenhum buraco do índice: bloco guardado pelo
+    // Quick Fit, reserva do Buddy ou sobra de um bloco do Buddy
+    private boolean isReservedUnit(int unit) {
+        return unit >= 0 && unit < memorySize && memory.isFree(unit) && !holes.contains(unit);
     }
 
-    // Algoritmo Quick Fit
-    private int quickFit(Process process) {
-        // 1. Verifica se o processo é maior que o bloco fixo. Se for, não pode ser alocado.
-        if (process.getSize() > QUICK_FIT_BLOCK_SIZE) {
-            System.out.println("Erro (Quick Fit): Processo " + process.getId() + " (tamanho " + process.getSize() + ") é maior que a partição fixa de " + QUICK_FIT_BLOCK_SIZE + ".");
+    // API por handles: o processo é só um tamanho, identificado por um int.
+    // Os metadados ficam em arrays paralelos indexados pelo handle e os handles
+    // liberados são reaproveitados, então em regime permanente alocar e liberar
+    // não criam objetos (nem boxing, nem hash de String). As mensagens do modo
+    // verbose e a gravação em trace valem só para a API com Process.
+
+    // Retorna um handle (>= 0) para um bloco de 'size' unidades, ou -1 se não houver espaço
+    public int allocateHandle(int size, String algorithm) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Tamanho de bloco inválido: " + size);
+        }
+        int startBlock = placeWithCompaction(size, algorithm);
+        if (startBlock == -1) {
+            allocationFailures++;
+            compactAfterOperation();
             return -1;
         }
+        memory.occupy(startBlock, size);
 
-        // 2. Tenta obter um bloco da lista rápida de partições.
-        List<Integer> freeList = quickFitFreeLists.get(QUICK_FIT_BLOCK_SIZE);
-        if (freeList != null && !freeList.isEmpty()) {
-            // Pega a primeira partição livre disponível.
-            return freeList.remove(0);
+        int handle;
+        if (!freeHandles.isEmpty()) {
+            handle = freeHandles.pop();
+        } else {
+            if (handleCount == handleStart.length) {
+                int capacity = handleCount * 2;
+                handleStart = Arrays.copyOf(handleStart, capacity);
+                handleSize = Arrays.copyOf(handleSize, capacity);
+                handleAlgorithm = Arrays.copyOf(handleAlgorithm, capacity);
+            }
+            handle = handleCount++;
         }
+        handleStart[handle] = startBlock;
+        handleSize[handle] = size;
+        handleAlgorithm[handle] = algorithm;
+        handleAtBlock.put(startBlock, handle);
 
-        // 3. Se não houver blocos rápidos, a alocação falha.
-        return -1;
+        compactAfterOperation();
+        return handle;
     }
 
-    // Calcula e exibe estatísticas de fragmentação
-    public void printFragmentationStats(List<Process> allProcesses) {
-        List<Integer> holeSizes = new ArrayList<>();
-        int i = 0;
-        while (i < memorySize) {
-            if (memory[i] == 0) {
-                int holeSize = 0;
-                while (i < memorySize && memory[i] == 0) {
-                    holeSize++;
-                    i++;
-                }
-                holeSizes.add(holeSize);
-            } else {
-                i++;
-            }
+    public void freeHandle(int handle) {
+        if (!isHandleAllocated(handle)) {
+            return;
         }
+        int startBlock = handleStart[handle];
+        int size = handleSize[handle];
+        memory.release(startBlock, size);
+        releaseBlock(startBlock, size, handleAlgorithm[handle]);
 
-        int unusableBlocksCount = 0;
-        int totalUnusableMemory = 0;
+        handleAtBlock.remove(startBlock);
+        handleStart[handle] = -1;
+        handleAlgorithm[handle] = null;
+        freeHandles.push(handle);
 
-        int minPendingProcessSize = Integer.MAX_VALUE;
-        for (Process p : allProcesses) {
-            if (!allocatedProcesses.containsKey(p.getId())) {
-                if (p.getSize() < minPendingProcessSize) {
-                    minPendingProcessSize = p.getSize();
-                }
+        compactAfterOperation();
+    }
+
+    public boolean isHandleAllocated(int handle) {
+        return handle >= 0 && handle < handleCount && handleStart[handle] != -1;
+    }
+
+    // Bloco inicial do handle (muda com a compactação), ou -1 se ele não estiver alocado
+    public int getHandleStart(int handle) {
+        return isHandleAllocated(handle) ? handleStart[handle] : -1;
+    }
+
+    public int getHandleSize(int handle) {
+        return isHandleAllocated(handle) ? handleSize[handle] : -1;
+    }
+
+    // Define quando compactar:
+    // - "None": nunca
+    // - "On Failure": compactação completa só quando uma alocação falha por fragmentação
+    // - "Incremental": a cada alocação/desalocação move no máximo 'incrementalBudget' unidades
+    // - "Full": compactação completa sempre que houver mais de um buraco (memória sempre compactada)
+    public void setCompactionPolicy(String policy, int incrementalBudget) {
+        switch (policy) {
+            case "None", "On Failure", "Incremental", "Full" -> this.compactionPolicy = policy;
+            default -> throw new IllegalArgumentException("Política de compactação desconhecida: " + policy);
+        }
+        this.incrementalBudget = incrementalBudget;
+        this.compactionCredit = 0;
+    }
+
+    // Compactação completa: desliza todos os processos para o início da memória
+    public CompactionReport compact() {
+        return slide(Long.MAX_VALUE);
+    }
+
+    private void compactAfterOperation() {
+        if (compactionPolicy.equals("Full") && stats.getHoleCount() > pinnedBlocks() + 1) {
+            CompactionReport report = compact();
+            if (verbose) {
+                System.out.println(report);
             }
+        } else if (compactionPolicy.equals("Incremental")) {
+            compactionStep();
         }
+    }
 
-        if (minPendingProcessSize == Integer.MAX_VALUE) {
-            minPendingProcessSize = 0;
+    // Um passo da compactação incremental. Se o próximo bloco for maior que o passo,
+    // o crédito se acumula entre chamadas até ser suficiente para movê-lo.
+    private void compactionStep() {
+        compactionCredit = Math.min(compactionCredit + incrementalBudget, memorySize);
+        CompactionReport report = slide(compactionCredit);
+        compactionCredit = report.finished ? 0 : compactionCredit - report.unitsMoved;
+        if (verbose && report.blocksMoved > 0) {
+            System.out.println(report);
         }
+    }
+
+    // Unidades livres, inclusive as da reserva do Buddy (que não aparecem nos buracos)
+    private long freeUnits() {
+        return stats.getFreeUnits() + (buddy == null ? 0 : buddy.getFreeUnits());
+    }
+
+    // Blocos que a compactação não move: os do Buddy (alocados e da reserva). Numa memória
+    // compactada sobram no máximo pinnedBlocks() + 1 buracos.
+    private int pinnedBlocks() {
+        return buddy == null ? 0 : buddy.getAllocatedBlocks() + buddy.getFreeBlocks();
+    }
 
-        for (int hole : holeSizes) {
-            if (hole < minPendingProcessSize) {
-                unusableBlocksCount++;
-                totalUnusableMemory += hole;
+    // Fecha buracos do início para o fim: o processo logo depois de um buraco desce para o
+    // começo dele, até a memória ficar compactada ou 'maxUnits' acabar.
+    // Blocos do Buddy não são realocáveis (o endereço depende do alinhamento): o buraco
+    // antes deles fica onde está e a compactação continua no buraco seguinte.
+    private CompactionReport slide(long maxUnits) {
+        long startTime = System.nanoTime();
+        quickFit.flush(); // Coalescência preguiçosa: as listas do Quick Fit voltam a ser buracos
+
+        long unitsMoved = 0;
+        int blocksMoved = 0;
+        boolean finished = false;
+        int holeStart = holes.firstHoleStart();
+        while (true) {
+            if (holeStart == -1) {
+                finished = true; // Sem buracos depois dos blocos fixos (ou memória cheia)
+                break;
             }
+            int blockStart = holeStart + holes.holeSizeAt(holeStart);
+            if (blockStart >= memorySize) {
+                finished = true; // Último buraco, no fim da memória
+                break;
+            }
+            String id = processAtBlock.get(blockStart);
+            int handle = id == null ? handleAtBlock.get(blockStart, -1) : -1;
+            String algorithm = id != null ? processAlgorithm.get(id) : handle != -1 ? handleAlgorithm[handle] : null;
+            if (algorithm == null || algorithm.equals("Buddy")) {
+                // Bloco fixo (do Buddy ou da reserva dele): pula para o próximo buraco
+                holeStart = holes.nextHoleStart(holeStart);
+                continue;
+            }
+            int size = id != null ? processOriginalSize.get(id) : handleSize[handle];
+            if (unitsMoved + size > maxUnits) {
+                break;
+            }
+
+            memory.release(blockStart, size);
+            memory.occupy(holeStart, size);
+            holes.release(blockStart, size);
+            holes.occupy(holeStart, size);
+            if (id != null) {
+                processAtBlock.remove(blockStart);
+                processAtBlock.put(holeStart, id);
+                allocatedProcesses.put(id, holeStart);
+            } else {
+                handleAtBlock.remove(blockStart);
+                handleAtBlock.put(holeStart, handle);
+                handleStart[handle] = holeStart;
+            }
+            unitsMoved += size;
+            blocksMoved++;
+            holeStart += size; // O buraco subiu para depois do bloco movido
+        }
+
+        long nanos = System.nanoTime() - startTime;
+        if (blocksMoved > 0) {
+            compactions++;
+            totalUnitsMoved += unitsMoved;
+            totalBlocksMoved += blocksMoved;
+            totalCompactionNanos += nanos;
+        }
+        return new CompactionReport(unitsMoved, blocksMoved, nanos, finished);
+    }
+
+    public int getAllocationFailures() {
+        return allocationFailures;
+    }
+
+    public void printCompactionStats() {
+        System.out.printf("Compactações (%s): %d execuções, %d unidades em %d blocos movidos, %.3f ms no total. Falhas de alocação: %d.%n",
+                compactionPolicy, compactions, totalUnitsMoved, totalBlocksMoved, totalCompactionNanos / 1e6, allocationFailures);
+    }
+
+    // Algoritmo First Fit: buraco de menor endereço que comporta o processo, O(log buracos)
+    private int firstFit(int processSize) {
+        return reserve(holes.firstFit(processSize), processSize);
+    }
+
+    // Algoritmo Next Fit
+    private int nextFit(int processSize) {
+        int startBlock = holes.nextFit(lastPlacementIndex, processSize);
+        if (startBlock != -1) {
+            lastPlacementIndex = (startBlock + processSize) % memorySize;
+        }
+        return reserve(startBlock, processSize);
+    }
+
+    // Algoritmo Best Fit: menor buraco que comporta o processo, O(log buracos)
+    private int bestFit(int processSize) {
+        return reserve(holes.bestFit(processSize), processSize);
+    }
+
+    // Algoritmo Worst Fit: maior buraco disponível, O(log buracos)
+    private int worstFit(int processSize) {
+        return reserve(holes.worstFit(processSize), processSize);
+    }
+
+    // Retira do índice de buracos o bloco escolhido pelo algoritmo
+    private int reserve(int startBlock, int size) {
+        if (startBlock != -1) {
+            holes.occupy(startBlock, size);
+        }
+        return startBlock;
+    }
+
+    // Algoritmo Quick Fit: listas por classe de tamanho, com o alocador geral para tamanhos raros
+    private int quickFit(int processSize) {
+        return quickFit.allocate(processSize);
+    }
+
+    // Sistema Buddy: arredonda para potência de 2; tempo O(log N) no pior caso.
+    // O bloco sai da reserva do Buddy (que pega regiões do índice de buracos quando
+    // precisa); a sobra é fragmentação interna.
+    private int buddyFit(int processSize) {
+        if (buddy == null) {
+            buddy = new BuddyAllocator(memorySize, holes);
+        }
+        return buddy.allocate(processSize);
+    }
+
+    // Estatísticas mantidas incrementalmente; o objeto é sempre o mesmo e pode ser consultado a qualquer momento
+    public FragmentationStats getFragmentationStats() {
+        return stats;
+    }
+
+    // Define a lista de processos cujas requisições pendentes entram nas estatísticas
+    public void trackProcesses(List<Process> allProcesses) {
+        stats.trackProcesses(allProcesses, allocatedProcesses.keySet());
+    }
+
+    // Exibe as estatísticas de fragmentação. A lista só é percorrida quando muda;
+    // depois disso as requisições pendentes são atualizadas a cada alocação/desalocação.
+    public void printFragmentationStats(List<Process> allProcesses) {
+        if (!stats.isTracking(allProcesses)) {
+            trackProcesses(allProcesses);
         }
 
         System.out.println(
-                "Estatísticas de Fragmentação: " + holeSizes.size() + " buracos livres. " +
-                        unusableBlocksCount + " blocos inutilizáveis (total de " + totalUnusableMemory + " unidades de memória)."
+                "Estatísticas de Fragmentação: " + stats.getHoleCount() + " buracos livres. " +
+                        stats.getUnusableHoleCount() + " blocos inutilizáveis (total de " + stats.getUnusableUnits() + " unidades de memória)."
         );
+
+        if (buddy != null) {
+            long allocatedUnits = buddy.getAllocatedUnits();
+            long internal = buddy.getInternalFragmentation();
+            System.out.printf("Fragmentação interna (Buddy): %d unidades desperdiçadas em %d blocos (%.1f%% das unidades alocadas).%n",
+                    internal, buddy.getAllocatedBlocks(), allocatedUnits == 0 ? 0.0 : 100.0 * internal / allocatedUnits);
+            System.out.printf("Reserva do Buddy (fora dos buracos acima): %d unidades livres em %d blocos.%n",
+                    buddy.getFreeUnits(), buddy.getFreeBlocks());
+        }
     }
 
     public boolean isProcessAllocated(Process process) {
         return allocatedProcesses.containsKey(process.getId());
     }
 
+    // Bloco inicial do processo, ou -1 se ele não estiver na memória
+    public int getStartBlock(Process process) {
+        Integer startBlock = allocatedProcesses.get(process.getId());
+        return startBlock == null ? -1 : startBlock;
+    }
+
+    public int getMemorySize() {
+        return memorySize;
+    }
+
     public void printMemoryMap() {
-        System.out.println("Mapa de bits da memória: " + Arrays.toString(memory));
+        System.out.println("Mapa de bits da memória: " + memory);
     }
 
     public void reset() {
-        Arrays.fill(memory, 0);
+        memory.clear();
+        holes.reset();
         allocatedProcesses.clear();
         processOriginalSize.clear();
+        processAlgorithm.clear();
+        processAtBlock.clear();
+        handleCount = 0;
+        freeHandles.clear();
+        handleAtBlock.clear();
         lastPlacementIndex = 0;
-        quickFitFreeLists.clear();
-        initializeQuickFitLists();
+        compactionCredit = 0;
+        compactions = 0;
+        totalUnitsMoved = 0;
+        totalBlocksMoved = 0;
+        totalCompactionNanos = 0;
+        allocationFailures = 0;
+        quickFit.reset();
+        buddy = null;
+        stats.retrack(allocatedProcesses.keySet());
     }
 }
\ No newline at end of file
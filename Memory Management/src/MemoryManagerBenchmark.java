@@ -0,0 +1,356 @@
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+// Medição de desempenho de MemoryManager.allocate/deallocate para cada estratégia.
+// Sem sistema de build no projeto não há JMH, então o harness segue o mesmo modelo
+// na mão: iterações de aquecimento descartadas, iterações de medição com tempo fixo,
+// média ± desvio padrão, e um "sumidouro" com os endereços devolvidos para o JIT
+// não eliminar o trabalho. Cada operação é uma alocação mais uma desalocação.
+// As duas APIs são medidas: com Process (IDs String) e com handles int; na de
+// handles o esperado em regime permanente é 0 bytes/op ("n/a" quando a JVM não mede
+// a alocação por thread).
+//
+// Cenários de fragmentação:
+//   - "Fresh": memória vazia; aloca e libera logo em seguida
+//   - "Checkerboard": metade da memória presa em blocos alternados de 4 unidades-base; aloca
+//     e libera nos buracos, com requisições de 1 a 4 unidades-base (todas cabem num buraco)
+//   - "Churn": anel de processos vivos com ~50% de ocupação; cada operação libera o mais
+//     antigo e aloca um novo (regime permanente, já atingido no aquecimento)
+//
+// Uso: MemoryManagerBenchmark [--csv <arquivo>] [--time <ms>] [--api Process|Handle] [tamanhos...]
+class MemoryManagerBenchmark {
+    private static final String[] ALGORITHMS = {"First Fit", "Next Fit", "Best Fit", "Worst Fit", "Quick Fit", "Buddy"};
+    private static final String[] SCENARIOS = {"Fresh", "Checkerboard", "Churn"};
+    private static final String[] APIS = {"Process", "Handle"};
+    private static final int[] DEFAULT_SIZES = {32, 1 << 10, 1 << 15, 1 << 20, 1 << 25, 1 << 30};
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASUREMENT_ITERATIONS = 5;
+    private static final int POOL_SIZE = 8192; // Processos pré-criados (tamanhos sorteados)
+    private static final int MAX_BLOCKS = 1 << 14; // Limita a quantidade de blocos em memórias grandes
+    private static final int CHECKERBOARD_UNITS = 4; // Blocos (e buracos) do tabuleiro, em unidades-base
+
+    private static long sink = 0;
+
+    public static void main(String[] args) {
+        String csvPath = null;
+        long iterationMillis = 200;
+        String[] apis = APIS;
+        List<Integer> sizes = new ArrayList<>();
+        for (int a = 0; a < args.length; a++) {
+            if (args[a].equals("--csv") && a + 1 < args.length) {
+                csvPath = args[++a];
+            } else if (args[a].equals("--time") && a + 1 < args.length) {
+                iterationMillis = Long.parseLong(args[++a]);
+            } else if (args[a].equals("--api") && a + 1 < args.length) {
+                apis = new String[]{args[++a]};
+            } else {
+                sizes.add(Integer.parseInt(args[a]));
+            }
+        }
+        if (sizes.isEmpty()) {
+            for (int size : DEFAULT_SIZES) {
+                sizes.add(size);
+            }
+        }
+
+        PrintWriter csv = null;
+        if (csvPath != null) {
+            try {
+                csv = new PrintWriter(new FileWriter(csvPath));
+                csv.println("api,algorithm,memory,scenario,ops_per_sec,error,bytes_per_op,failure_pct");
+            } catch (IOException e) {
+                System.err.println("Erro ao criar o CSV: " + e.getMessage());
+                return;
+            }
+        }
+
+        System.out.println("=========================================================");
+        System.out.printf("DESEMPENHO DO MEMORYMANAGER (%d aquecimentos + %d medições de %d ms)%n",
+                WARMUP_ITERATIONS, MEASUREMENT_ITERATIONS, iterationMillis);
+        System.out.println("=========================================================");
+        System.out.printf("%-8s %-10s %12s %-13s %14s %12s %10s %8s%n",
+                "API", "Algoritmo", "Memória", "Cenário", "ops/s", "±", "bytes/op", "falhas");
+
+        for (int size : sizes) {
+            for (String scenario : SCENARIOS) {
+                for (String api : apis) {
+                    for (String algorithm : ALGORITHMS) {
+                        if (!fitsInHeap(size, algorithm)) {
+                            System.out.printf("%-8s %-10s %12d %-13s %s%n", api, algorithm, size, scenario, "ignorado (heap insuficiente)");
+                            continue;
+                        }
+                        Result result = run(api, algorithm, size, scenario, iterationMillis);
+                        String bytesPerOp = Double.isNaN(result.bytesPerOp)
+                                ? "n/a" : String.format(Locale.ROOT, "%.1f", result.bytesPerOp);
+                        System.out.printf(Locale.ROOT, "%-8s %-10s %12d %-13s %,14.0f %,12.0f %10s %7.2f%%%n",
+                                api, algorithm, size, scenario, result.opsPerSecond, result.error,
+                                bytesPerOp, result.failurePercent);
+                        if (csv != null) {
+                            csv.printf(Locale.ROOT, "%s,%s,%d,%s,%.1f,%.1f,%.1f,%.3f%n", api, algorithm, size, scenario,
+                                    result.opsPerSecond, result.error, result.bytesPerOp, result.failurePercent);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (csv != null) {
+            csv.close();
+            System.out.println("\nResultados gravados em '" + csvPath + "'.");
+        }
+        System.out.println("(sumidouro: " + sink + ")");
+    }
+
+    private static Result run(String api, String algorithm, int memorySize, String scenario, long iterationMillis) {
+        // Tamanhos das requisições proporcionais à memória: 1 a 8 unidades-base, ou 1 a 4 no
+        // tabuleiro, onde os buracos têm 4 (senão metade das operações falharia logo de cara
+        // e a medição seria de falhas rápidas)
+        int unit = Math.max(1, memorySize / (MAX_BLOCKS * 4));
+        int maxUnits = scenario.equals("Checkerboard") ? CHECKERBOARD_UNITS : 8;
+        Random random = new Random(42);
+        Process[] pool = new Process[POOL_SIZE];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = new Process("B" + i, unit * (1 + random.nextInt(maxUnits)));
+        }
+
+        MemoryManager manager = new MemoryManager(new BitsetMemoryMap(memorySize));
+        manager.setVerbose(false);
+
+        if (scenario.equals("Checkerboard")) {
+            fillCheckerboard(manager, unit * CHECKERBOARD_UNITS);
+        }
+        boolean handles = api.equals("Handle");
+        int live = memorySize / (9 * unit);
+        Workload workload = switch (scenario) {
+            case "Fresh", "Checkerboard" -> handles
+                    ? new HandlePairWorkload(manager, algorithm, pool)
+                    : new PairWorkload(manager, algorithm, pool);
+            default -> handles
+                    ? new HandleChurnWorkload(manager, algorithm, pool, live)
+                    : new ChurnWorkload(manager, algorithm, pool, live);
+        };
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            measure(workload, iterationMillis);
+        }
+        double[] rates = new double[MEASUREMENT_ITERATIONS];
+        long totalOps = 0;
+        long totalBytes = 0;
+        boolean bytesMeasured = true;
+        long failuresBefore = manager.getAllocationFailures();
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            long bytesBefore = allocatedBytes();
+            long startTime = System.nanoTime();
+            long ops = measure(workload, iterationMillis);
+            long elapsed = System.nanoTime() - startTime;
+            long bytesAfter = allocatedBytes();
+            bytesMeasured &= bytesBefore != -1 && bytesAfter != -1;
+            totalBytes += bytesAfter - bytesBefore;
+            totalOps += ops;
+            rates[i] = ops / (elapsed / 1e9);
+        }
+        long failures = manager.getAllocationFailures() - failuresBefore;
+
+        double mean = 0;
+        for (double rate : rates) {
+            mean += rate;
+        }
+        mean /= rates.length;
+        double variance = 0;
+        for (double rate : rates) {
+            variance += (rate - mean) * (rate - mean);
+        }
+        double error = Math.sqrt(variance / (rates.length - 1));
+        return new Result(mean, error, bytesMeasured ? (double) totalBytes / totalOps : Double.NaN,
+                100.0 * failures / totalOps);
+    }
+
+    // Executa operações em lotes até esgotar o tempo da iteração
+    private static long measure(Workload workload, long iterationMillis) {
+        long deadline = System.nanoTime() + iterationMillis * 1_000_000;
+        long ops = 0;
+        do {
+            for (int i = 0; i < 256; i++) {
+                sink += workload.operation();
+            }
+            ops += 256;
+        } while (System.nanoTime() < deadline);
+        return ops;
+    }
+
+    // Ocupa toda a memória com blocos de 'blockSize' e libera um sim, um não
+    private static void fillCheckerboard(MemoryManager manager, int blockSize) {
+        int blocks = manager.getMemorySize() / blockSize;
+        Process[] pinned = new Process[blocks];
+        for (int i = 0; i < blocks; i++) {
+            pinned[i] = new Process("X" + i, blockSize);
+            manager.allocate(pinned[i], "First Fit");
+        }
+        for (int i = 0; i < blocks; i += 2) {
+            manager.deallocate(pinned[i]);
+        }
+    }
+
+    // Bytes alocados no heap por esta thread (-1 se a JVM não suportar a medição; o resultado
+    // vira NaN, e não uma diferença de 0 bytes)
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean && sunBean.isThreadAllocatedMemorySupported()) {
+            return sunBean.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    // Estimativa grosseira: bitset (1 bit/unidade) e, no Buddy, os bitmaps das ordens (~2 bits/unidade)
+    private static boolean fitsInHeap(int memorySize, String algorithm) {
+        long needed = memorySize / 8L;
+        if (algorithm.equals("Buddy")) {
+            needed += memorySize / 4L;
+        }
+        Runtime runtime = Runtime.getRuntime();
+        long available = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        return needed * 2 < available;
+    }
+
+    private interface Workload {
+        // Uma alocação e uma desalocação; retorna o endereço obtido (ou -1)
+        int operation();
+    }
+
+    // Aloca e libera em seguida: o estado de fundo da memória não muda
+    private static class PairWorkload implements Workload {
+        private final MemoryManager manager;
+        private final String algorithm;
+        private final Process[] pool;
+        private int next = 0;
+
+        PairWorkload(MemoryManager manager, String algorithm, Process[] pool) {
+            this.manager = manager;
+            this.algorithm = algorithm;
+            this.pool = pool;
+        }
+
+        @Override
+        public int operation() {
+            Process process = pool[next];
+            next = (next + 1) % pool.length;
+            int address = manager.allocate(process, algorithm);
+            manager.deallocate(process);
+            return address;
+        }
+    }
+
+    // Anel de processos vivos: libera o alocado 'live' operações atrás e aloca um novo
+    private static class ChurnWorkload implements Workload {
+        private final MemoryManager manager;
+        private final String algorithm;
+        private final Process[] pool;
+        private final Process[] ring;
+        private int slot = 0;
+        private int next = 0;
+
+        ChurnWorkload(MemoryManager manager, String algorithm, Process[] pool, int live) {
+            this.manager = manager;
+            this.algorithm = algorithm;
+            this.pool = pool;
+            // O pool precisa ser maior que o anel para nunca reutilizar um processo vivo
+            this.ring = new Process[Math.max(1, Math.min(live, pool.length - 1))];
+        }
+
+        @Override
+        public int operation() {
+            if (ring[slot] != null) {
+                manager.deallocate(ring[slot]);
+            }
+            Process process = pool[next];
+            next = (next + 1) % pool.length;
+            int address = manager.allocate(process, algorithm);
+            ring[slot] = address != -1 ? process : null;
+            slot = (slot + 1) % ring.length;
+            return address;
+        }
+    }
+
+    // Mesmas cargas pela API de handles (só os tamanhos do pool são usados)
+    private static class HandlePairWorkload implements Workload {
+        private final MemoryManager manager;
+        private final String algorithm;
+        private final int[] sizes;
+        private int next = 0;
+
+        HandlePairWorkload(MemoryManager manager, String algorithm, Process[] pool) {
+            this.manager = manager;
+            this.algorithm = algorithm;
+            this.sizes = sizesOf(pool);
+        }
+
+        @Override
+        public int operation() {
+            int size = sizes[next];
+            next = (next + 1) % sizes.length;
+            int handle = manager.allocateHandle(size, algorithm);
+            int address = manager.getHandleStart(handle);
+            manager.freeHandle(handle);
+            return address;
+        }
+    }
+
+    private static class HandleChurnWorkload implements Workload {
+        private final MemoryManager manager;
+        private final String algorithm;
+        private final int[] sizes;
+        private final int[] ring; // -1 = vazio
+        private int slot = 0;
+        private int next = 0;
+
+        HandleChurnWorkload(MemoryManager manager, String algorithm, Process[] pool, int live) {
+            this.manager = manager;
+            this.algorithm = algorithm;
+            this.sizes = sizesOf(pool);
+            this.ring = new int[Math.max(1, Math.min(live, pool.length - 1))];
+            Arrays.fill(ring, -1);
+        }
+
+        @Override
+        public int operation() {
+            if (ring[slot] != -1) {
+                manager.freeHandle(ring[slot]);
+            }
+            int size = sizes[next];
+            next = (next + 1) % sizes.length;
+            int handle = manager.allocateHandle(size, algorithm);
+            ring[slot] = handle;
+            slot = (slot + 1) % ring.length;
+            return manager.getHandleStart(handle);
+        }
+    }
+
+    private static int[] sizesOf(Process[] pool) {
+        int[] sizes = new int[pool.length];
+        for (int i = 0; i < pool.length; i++) {
+            sizes[i] = pool[i].getSize();
+        }
+        return sizes;
+    }
+
+    private static class Result {
+        final double opsPerSecond;
+        final double error;
+        final double bytesPerOp;
+        final double failurePercent;
+
+        Result(double opsPerSecond, double error, double bytesPerOp, double failurePercent) {
+            this.opsPerSecond = opsPerSecond;
+            this.error = error;
+            this.bytesPerOp = bytesPerOp;
+            this.failurePercent = failurePercent;
+        }
+    }
+}
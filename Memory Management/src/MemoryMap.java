@@ -0,0 +1,26 @@
+// Interface para o mapa de ocupação da memória (0 = livre, 1 = ocupado)
+// Permite trocar a representação (um int por unidade ou bits compactados em long)
+// sem alterar as decisões dos algoritmos de alocação.
+interface MemoryMap {
+    int size();
+
+    boolean isFree(int index);
+
+    // Marca como ocupadas as unidades [start, start + length)
+    void occupy(int start, int length);
+
+    // Marca como livres as unidades [start, start + length)
+    void release(int start, int length);
+
+    // Primeira unidade livre a partir de 'from' (inclusive), ou size() se não houver
+    int nextFree(int from);
+
+    // Primeira unidade ocupada a partir de 'from' (inclusive), ou size() se não houver
+    int nextUsed(int from);
+
+    // Libera toda a memória
+    void clear();
+
+    // Cópia independente (pode compartilhar páginas até a primeira escrita)
+    MemoryMap copy();
+}
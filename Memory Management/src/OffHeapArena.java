@@ -0,0 +1,120 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+// Memória de verdade por trás do MemoryManager: uma região fora do heap (ByteBuffer
+// direto ou arquivo mapeado) dividida em unidades de 'unitBytes' bytes.
+// O MemoryManager continua decidindo onde cada processo fica (qualquer algoritmo);
+// a arena só traduz o bloco inicial em uma fatia da região.
+class OffHeapArena implements Closeable {
+    private final MemoryManager manager;
+    private final ByteBuffer region;
+    private final int unitBytes;
+    private final FileChannel channel; // null quando a região não é um arquivo
+    private final Map<String, ByteBuffer> slices = new HashMap<>(); // ID do processo -> fatia
+
+    // Região direta (fora do heap, não coletada pelo GC enquanto a arena existir)
+    public OffHeapArena(int units, int unitBytes) {
+        this(ByteBuffer.allocateDirect(checkedCapacity(units, unitBytes)), units, unitBytes, null);
+    }
+
+    // Região mapeada de um arquivo (criado ou estendido até o tamanho necessário)
+    public static OffHeapArena mapped(String path, int units, int unitBytes) throws IOException {
+        int capacity = checkedCapacity(units, unitBytes);
+        FileChannel channel = FileChannel.open(Paths.get(path),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            return new OffHeapArena(region, units, unitBytes, channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private OffHeapArena(ByteBuffer region, int units, int unitBytes, FileChannel channel) {
+        this.region = region;
+        this.unitBytes = unitBytes;
+        this.channel = channel;
+        this.manager = new MemoryManager(new BitsetMemoryMap(units));
+        manager.setVerbose(false);
+    }
+
+    // Aloca process.getSize() unidades e retorna a fatia correspondente, ou null sem espaço.
+    // A fatia tem posição 0 e limite igual ao tamanho pedido em bytes.
+    public ByteBuffer allocate(Process process, String algorithm) {
+        int startBlock = manager.allocate(process, algorithm);
+        if (startBlock == -1) {
+            return null;
+        }
+        ByteBuffer slice = region.slice(startBlock * unitBytes, process.getSize() * unitBytes);
+        slices.put(process.getId(), slice);
+        return slice;
+    }
+
+    // Devolve a fatia do processo; ela não deve mais ser usada depois disso
+    public void deallocate(Process process) {
+        if (slices.remove(process.getId()) != null) {
+            manager.deallocate(process);
+        }
+    }
+
+    // Fatia atual do processo (null se não estiver alocado)
+    public ByteBuffer getBuffer(Process process) {
+        return slices.get(process.getId());
+    }
+
+    // Unidades necessárias para guardar 'bytes' bytes
+    public int unitsFor(int bytes) {
+        return (bytes + unitBytes - 1) / unitBytes;
+    }
+
+    public int getUnitBytes() {
+        return unitBytes;
+    }
+
+    public long getCapacityBytes() {
+        return region.capacity();
+    }
+
+    public boolean isMapped() {
+        return channel != null;
+    }
+
+    // Cópia das estatísticas de fragmentação. O MemoryManager não é exposto: compactar
+    // moveria só a contabilidade, não os bytes, e as fatias em uso passariam a apontar
+    // para dados de outros processos. Por isso a política fica sempre em "None".
+    public FragmentationStats getFragmentationStats() {
+        return manager.getFragmentationStats().copy();
+    }
+
+    // Grava as páginas sujas no arquivo (sem efeito na região direta)
+    public void force() {
+        if (region instanceof MappedByteBuffer mapped) {
+            mapped.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        slices.clear();
+        if (channel != null) {
+            force();
+            channel.close();
+        }
+    }
+
+    private static int checkedCapacity(int units, int unitBytes) {
+        long capacity = (long) units * unitBytes;
+        if (units <= 0 || unitBytes <= 0 || capacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tamanho de arena inválido: " + units + " x " + unitBytes + " bytes");
+        }
+        return (int) capacity;
+    }
+}
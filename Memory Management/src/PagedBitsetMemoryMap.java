@@ -0,0 +1,176 @@
+import java.util.Arrays;
+
+// Mapa de bits dividido em páginas de PAGE_WORDS longs, com cópia sob demanda
+// (copy-on-write): copy() só duplica a tabela de páginas, e cada lado clona uma
+// página na primeira escrita depois da cópia. Páginas nunca escritas apontam todas
+// para a mesma página zerada, então um mapa novo também não aloca os bits.
+// Serve para tirar snapshots do MemoryManager sem copiar a memória inteira.
+class PagedBitsetMemoryMap implements MemoryMap {
+    private static final int PAGE_SHIFT = 9; // 512 longs = 32768 unidades por página
+    private static final int PAGE_WORDS = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_WORDS - 1;
+    private static final long[] ZERO_PAGE = new long[PAGE_WORDS]; // Nunca é escrita
+
+    private final int size;
+    private final int wordCount;
+    private final long[][] pages;
+    private final boolean[] shared; // true = a página pode estar em outra cópia (clonar antes de escrever)
+    private long pagesCopied = 0;
+
+    public PagedBitsetMemoryMap(int size) {
+        this.size = size;
+        this.wordCount = (size + 63) >>> 6;
+        int pageCount = (wordCount + PAGE_WORDS - 1) >>> PAGE_SHIFT;
+        this.pages = new long[pageCount][];
+        this.shared = new boolean[pageCount];
+        Arrays.fill(pages, ZERO_PAGE);
+        Arrays.fill(shared, true);
+    }
+
+    private PagedBitsetMemoryMap(PagedBitsetMemoryMap source) {
+        this.size = source.size;
+        this.wordCount = source.wordCount;
+        this.pages = source.pages.clone();
+        this.shared = new boolean[pages.length];
+        Arrays.fill(shared, true);
+        Arrays.fill(source.shared, true); // A origem também passa a clonar antes de escrever
+    }
+
+    // Cópia em O(páginas): as páginas são compartilhadas até a primeira escrita
+    @Override
+    public PagedBitsetMemoryMap copy() {
+        return new PagedBitsetMemoryMap(this);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isFree(int index) {
+        return (word(index >>> 6) & (1L << index)) == 0;
+    }
+
+    @Override
+    public void occupy(int start, int length) {
+        if (length > 0) {
+            checkRange(start, length);
+            update(start, start + length, true);
+        }
+    }
+
+    @Override
+    public void release(int start, int length) {
+        if (length > 0) {
+            checkRange(start, length);
+            update(start, start + length, false);
+        }
+    }
+
+    // Aplica as máscaras palavra por palavra, clonando cada página compartilhada tocada
+    private void update(int start, int end, boolean occupied) {
+        int firstWord = start >>> 6;
+        int lastWord = (end - 1) >>> 6;
+        for (int w = firstWord; w <= lastWord; w++) {
+            long mask = -1L;
+            if (w == firstWord) {
+                mask &= -1L << start; // o deslocamento usa apenas os 6 bits baixos
+            }
+            if (w == lastWord) {
+                mask &= -1L >>> -end;
+            }
+            long[] page = writablePage(w >>> PAGE_SHIFT);
+            if (occupied) {
+                page[w & PAGE_MASK] |= mask;
+            } else {
+                page[w & PAGE_MASK] &= ~mask;
+            }
+        }
+    }
+
+    private void checkRange(int start, int length) {
+        if (start < 0 || start + length > size) {
+            throw new ArrayIndexOutOfBoundsException("Intervalo [" + start + ", " + (start + length) + ") fora da memória de tamanho " + size);
+        }
+    }
+
+    @Override
+    public int nextFree(int from) {
+        if (from >= size) {
+            return size;
+        }
+        int w = from >>> 6;
+        long bits = ~word(w) & (-1L << from);
+        while (bits == 0) {
+            if (++w == wordCount) {
+                return size;
+            }
+            bits = ~word(w);
+        }
+        // Os bits de preenchimento da última palavra aparecem como livres
+        return Math.min(size, (w << 6) + Long.numberOfTrailingZeros(bits));
+    }
+
+    @Override
+    public int nextUsed(int from) {
+        if (from >= size) {
+            return size;
+        }
+        int w = from >>> 6;
+        long bits = word(w) & (-1L << from);
+        while (bits == 0) {
+            if (++w == wordCount) {
+                return size;
+            }
+            if ((w & PAGE_MASK) == 0 && pages[w >>> PAGE_SHIFT] == ZERO_PAGE) {
+                // Página nunca escrita: pula inteira
+                w += PAGE_WORDS - 1;
+                if (w >= wordCount - 1) {
+                    return size;
+                }
+                continue;
+            }
+            bits = word(w);
+        }
+        return Math.min(size, (w << 6) + Long.numberOfTrailingZeros(bits));
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(pages, ZERO_PAGE);
+        Arrays.fill(shared, true);
+    }
+
+    // Páginas clonadas por escritas depois de cópias (custo real dos snapshots)
+    public long getPagesCopied() {
+        return pagesCopied;
+    }
+
+    private long word(int w) {
+        return pages[w >>> PAGE_SHIFT][w & PAGE_MASK];
+    }
+
+    private long[] writablePage(int p) {
+        if (shared[p]) {
+            pages[p] = pages[p].clone();
+            shared[p] = false;
+            pagesCopied++;
+        }
+        return pages[p];
+    }
+
+    // Mesmo formato de Arrays.toString(int[]) usado pelo mapa original
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(size * 3 + 2);
+        sb.append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(isFree(i) ? '0' : '1');
+        }
+        return sb.append(']').toString();
+    }
+}
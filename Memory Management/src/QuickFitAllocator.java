@@ -0,0 +1,264 @@
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+// Quick Fit: listas livres separadas para os tamanhos de requisição mais comuns.
+// - Tamanhos com classe: alocação e liberação em O(1) (pop/push na lista da classe)
+// - Tamanhos raros: usam o alocador geral (Best Fit sobre o HoleIndex)
+// - Blocos liberados isolados (sem unidade livre dos lados) voltam para a lista da classe
+//   em O(1): não há vizinho com quem juntar, então cada bloco guardado é um buraco separado
+//   e conta assim nas estatísticas. Blocos com vizinho livre vão direto para o índice de
+//   buracos (ver MemoryManager.releaseBlock); as listas são devolvidas ao índice (flush)
+//   antes de qualquer estratégia falhar por falta de espaço.
+// As classes podem ser configuradas ou aprendidas pelos tamanhos mais pedidos.
+class QuickFitAllocator {
+    private static final int MAX_LEARNED_SIZE = 256; // Maior tamanho que pode virar classe aprendida
+    private static final int LEARNED_CLASSES = 4;    // Quantidade de classes aprendidas
+    private static final int LEARNING_PERIOD = 32;   // Requisições entre cada reavaliação das classes
+
+    private final HoleIndex holes;
+    private final FragmentationStats stats; // Blocos guardados nas listas também contam como buracos
+    private final int[] configuredSizes; // null = classes aprendidas
+    private final int[] requestCounts = new int[MAX_LEARNED_SIZE + 1];
+    private int requestsSinceLearning = 0;
+    private final int[] top = new int[LEARNED_CLASSES]; // Rascunho do aprendizado (reaproveitado)
+
+    private int[] classOfSize;   // tamanho -> índice da classe (-1 = sem classe)
+    private int[] classSizes;    // índice da classe -> tamanho
+    private IntStack[] freeLists; // índice da classe -> inícios dos blocos livres
+    private int classCount;
+
+    // Arrays e listas da troca de classes anterior, reaproveitados na próxima troca
+    // (o aprendizado troca as classes com frequência e não deve criar objetos)
+    private int[] spareClassOfSize;
+    private int[] spareClassSizes;
+    private IntStack[] spareFreeLists;
+    private final ArrayDeque<IntStack> spareLists = new ArrayDeque<>();
+
+    // Classes aprendidas a partir da carga de trabalho
+    public QuickFitAllocator(HoleIndex holes, FragmentationStats stats) {
+        this.holes = holes;
+        this.stats = stats;
+        this.configuredSizes = null;
+        setClasses(top, 0);
+    }
+
+    // Classes fixas, configuradas pelo usuário
+    public QuickFitAllocator(HoleIndex holes, FragmentationStats stats, int... sizes) {
+        for (int size : sizes) {
+            if (size <= 0) {
+                throw new IllegalArgumentException("Tamanho de classe inválido para o Quick Fit: " + size);
+            }
+        }
+        this.holes = holes;
+        this.stats = stats;
+        this.configuredSizes = sizes.clone();
+        setClasses(configuredSizes, configuredSizes.length);
+    }
+
+    // Cópia para um snapshot: usa o índice de buracos e as estatísticas já copiados
+    private QuickFitAllocator(QuickFitAllocator source, HoleIndex holes, FragmentationStats stats) {
+        this.holes = holes;
+        this.stats = stats;
+        this.configuredSizes = source.configuredSizes;
+        System.arraycopy(source.requestCounts, 0, requestCounts, 0, requestCounts.length);
+        this.requestsSinceLearning = source.requestsSinceLearning;
+        this.classOfSize = source.classOfSize.clone();
+        this.classSizes = source.classSizes.clone();
+        this.classCount = source.classCount;
+        this.freeLists = new IntStack[source.freeLists.length];
+        for (int c = 0; c < classCount; c++) {
+            freeLists[c] = source.freeLists[c].copy();
+        }
+    }
+
+    public QuickFitAllocator copy(HoleIndex holes, FragmentationStats stats) {
+        return new QuickFitAllocator(this, holes, stats);
+    }
+
+    // Retorna o bloco inicial já reservado, ou -1 se não houver espaço
+    public int allocate(int size) {
+        if (configuredSizes == null) {
+            learn(size);
+        }
+
+        int c = classIndex(size);
+        if (c != -1 && !freeLists[c].isEmpty()) {
+            stats.holeRemoved(size);
+            return freeLists[c].pop();
+        }
+
+        int startBlock = holes.bestFit(size);
+        if (startBlock == -1 && cachedBlockCount() > 0) {
+            // Coalescência preguiçosa: devolve os blocos das listas e tenta de novo
+            flush();
+            startBlock = holes.bestFit(size);
+        }
+        if (startBlock != -1) {
+            holes.occupy(startBlock, size);
+        }
+        return startBlock;
+    }
+
+    // Guarda um bloco liberado e isolado na lista da sua classe, em O(1).
+    // Retorna false se o tamanho não tem classe (o bloco deve voltar ao índice de buracos).
+    public boolean cache(int startBlock, int size) {
+        int c = classIndex(size);
+        if (c == -1) {
+            return false;
+        }
+        freeLists[c].push(startBlock);
+        stats.holeAdded(size);
+        return true;
+    }
+
+    // Devolve todos os blocos das listas ao alocador geral, juntando vizinhos
+    public void flush() {
+        for (int c = 0; c < classCount; c++) {
+            flushClass(c);
+        }
+    }
+
+    // Descarta as listas (usado quando a memória inteira é reiniciada)
+    public void reset() {
+        Arrays.fill(requestCounts, 0);
+        requestsSinceLearning = 0;
+        classOfSize = null; // Os blocos antigos não existem mais
+        for (int c = 0; c < classCount; c++) {
+            freeLists[c].clear();
+        }
+        if (configuredSizes == null) {
+            setClasses(top, 0);
+        } else {
+            setClasses(configuredSizes, configuredSizes.length);
+        }
+    }
+
+    public int classCount() {
+        return classCount;
+    }
+
+    public int classSize(int c) {
+        return classSizes[c];
+    }
+
+    public int cachedBlocks(int c) {
+        return freeLists[c].size();
+    }
+
+    public int cachedBlockCount() {
+        int total = 0;
+        for (int c = 0; c < classCount; c++) {
+            total += freeLists[c].size();
+        }
+        return total;
+    }
+
+    private int classIndex(int size) {
+        return size < classOfSize.length ? classOfSize[size] : -1;
+    }
+
+    private void flushClass(int c) {
+        IntStack list = freeLists[c];
+        while (!list.isEmpty()) {
+            stats.holeRemoved(classSizes[c]);
+            holes.release(list.pop(), classSizes[c]);
+        }
+    }
+
+    // Conta os tamanhos pedidos e, a cada LEARNING_PERIOD requisições,
+    // promove os LEARNED_CLASSES tamanhos mais frequentes a classes
+    private void learn(int size) {
+        if (size <= MAX_LEARNED_SIZE) {
+            requestCounts[size]++;
+        }
+        if (++requestsSinceLearning < LEARNING_PERIOD) {
+            return;
+        }
+        requestsSinceLearning = 0;
+
+        int found = 0;
+        for (int s = 1; s <= MAX_LEARNED_SIZE; s++) {
+            if (requestCounts[s] == 0) {
+                continue;
+            }
+            // Inserção ordenada por frequência entre os LEARNED_CLASSES melhores
+            int pos = Math.min(found, LEARNED_CLASSES - 1);
+            if (found == LEARNED_CLASSES && requestCounts[top[pos]] >= requestCounts[s]) {
+                continue;
+            }
+            while (pos > 0 && requestCounts[top[pos - 1]] < requestCounts[s]) {
+                top[pos] = top[pos - 1];
+                pos--;
+            }
+            top[pos] = s;
+            found = Math.min(found + 1, LEARNED_CLASSES);
+        }
+        // Envelhece as contagens para acompanhar mudanças de fase da carga
+        for (int s = 1; s <= MAX_LEARNED_SIZE; s++) {
+            requestCounts[s] >>= 1;
+        }
+        if (!sameClasses(found)) {
+            setClasses(top, found);
+        }
+    }
+
+    private boolean sameClasses(int found) {
+        if (found != classCount) {
+            return false;
+        }
+        for (int i = 0; i < found; i++) {
+            if (classIndex(top[i]) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Troca o conjunto de classes pelos 'count' primeiros tamanhos de 'sizes', mantendo
+    // as listas das classes que continuam e devolvendo ao alocador geral os blocos das
+    // classes removidas
+    private void setClasses(int[] sizes, int count) {
+        int maxSize = MAX_LEARNED_SIZE;
+        for (int c = 0; c < count; c++) {
+            maxSize = Math.max(maxSize, sizes[c]);
+        }
+        int capacity = Math.max(LEARNED_CLASSES, count);
+        int[] newClassOfSize = spareClassOfSize != null && spareClassOfSize.length == maxSize + 1
+                ? spareClassOfSize : new int[maxSize + 1];
+        int[] newClassSizes = spareClassSizes != null && spareClassSizes.length >= count
+                ? spareClassSizes : new int[capacity];
+        IntStack[] newFreeLists = spareFreeLists != null && spareFreeLists.length >= count
+                ? spareFreeLists : new IntStack[capacity];
+        Arrays.fill(newClassOfSize, -1);
+        for (int c = 0; c < count; c++) {
+            newClassOfSize[sizes[c]] = c;
+            newClassSizes[c] = sizes[c];
+            int old = classOfSize == null ? -1 : classIndex(sizes[c]);
+            if (old != -1) {
+                newFreeLists[c] = freeLists[old];
+            } else {
+                newFreeLists[c] = spareLists.isEmpty() ? new IntStack() : spareLists.pop();
+            }
+        }
+        if (classOfSize != null) {
+            for (int c = 0; c < classCount; c++) {
+                if (classSizes[c] >= newClassOfSize.length || newClassOfSize[classSizes[c]] == -1) {
+                    flushClass(c);
+                    spareLists.push(freeLists[c]);
+                }
+            }
+        } else if (freeLists != null) {
+            // Depois de reset(): as listas antigas (já vazias) voltam para a reserva
+            for (int c = 0; c < classCount; c++) {
+                spareLists.push(freeLists[c]);
+            }
+        }
+        spareClassOfSize = classOfSize;
+        spareClassSizes = classSizes;
+        spareFreeLists = freeLists;
+        this.classOfSize = newClassOfSize;
+        this.classSizes = newClassSizes;
+        this.freeLists = newFreeLists;
+        this.classCount = count;
+    }
+}
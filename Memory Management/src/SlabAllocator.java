@@ -0,0 +1,214 @@
+import java.util.HashMap;
+import java.util.Map;
+
+// Camada de slabs (cache de objetos) sobre o MemoryManager.
+// Cada tamanho de objeto tem o seu cache; cada slab é um bloco contíguo pedido ao
+// MemoryManager e dividido em até 64 objetos, com um bitmap (long) de posições livres.
+// Os slabs ficam em três listas por cache (cheios, parciais e vazios), então alocar e
+// liberar um objeto de tamanho já em cache é O(1) e não passa pela busca de buracos.
+class SlabAllocator {
+    private static final int MAX_OBJECTS_PER_SLAB = 64; // Um long de bitmap por slab
+
+    private final MemoryManager manager;
+    private final String slabAlgorithm;  // Algoritmo usado para pedir slabs ao MemoryManager
+    private final int objectsPerSlab;
+    private final int maxEmptySlabs;     // Slabs vazios mantidos por cache antes de devolver
+    private final Map<Integer, SlabCache> caches = new HashMap<>();
+    private final Map<String, Slot> objects = new HashMap<>();
+    private int slabCounter = 0;
+
+    public SlabAllocator(MemoryManager manager, String slabAlgorithm, int objectsPerSlab, int maxEmptySlabs) {
+        if (objectsPerSlab < 1 || objectsPerSlab > MAX_OBJECTS_PER_SLAB) {
+            throw new IllegalArgumentException("Objetos por slab deve estar entre 1 e " + MAX_OBJECTS_PER_SLAB + ".");
+        }
+        this.manager = manager;
+        this.slabAlgorithm = slabAlgorithm;
+        this.objectsPerSlab = objectsPerSlab;
+        this.maxEmptySlabs = maxEmptySlabs;
+    }
+
+    // Aloca o objeto em um slab do seu tamanho. Retorna o endereço, ou -1 se não houver memória.
+    public int allocate(Process process) {
+        if (objects.containsKey(process.getId())) {
+            return -1;
+        }
+        SlabCache cache = caches.computeIfAbsent(process.getSize(), SlabCache::new);
+
+        Slab slab = cache.partial.first();
+        if (slab == null) {
+            slab = cache.empty.first();
+            if (slab == null) {
+                slab = newSlab(cache);
+                if (slab == null) {
+                    return -1;
+                }
+            }
+            slab.moveTo(cache.partial);
+        }
+
+        int index = Long.numberOfTrailingZeros(slab.freeBits);
+        slab.freeBits &= ~(1L << index);
+        slab.freeCount--;
+        if (slab.freeCount == 0) {
+            slab.moveTo(cache.full);
+        }
+        objects.put(process.getId(), new Slot(slab, index));
+        return slab.objectAddress(index);
+    }
+
+    public void deallocate(Process process) {
+        Slot slot = objects.remove(process.getId());
+        if (slot == null) {
+            return;
+        }
+        Slab slab = slot.slab;
+        SlabCache cache = slab.cache;
+        slab.freeBits |= 1L << slot.index;
+        slab.freeCount++;
+
+        if (slab.freeCount == objectsPerSlab) {
+            slab.moveTo(cache.empty);
+            if (cache.empty.size > maxEmptySlabs) {
+                releaseSlab(cache.empty.first());
+            }
+        } else if (slab.list == cache.full) {
+            slab.moveTo(cache.partial);
+        }
+    }
+
+    // Endereço atual do objeto, ou -1 se ele não estiver alocado
+    public int getAddress(Process process) {
+        Slot slot = objects.get(process.getId());
+        return slot == null ? -1 : slot.slab.objectAddress(slot.index);
+    }
+
+    // Devolve ao MemoryManager todos os slabs vazios. Retorna quantos foram liberados.
+    public int reclaim() {
+        int released = 0;
+        for (SlabCache cache : caches.values()) {
+            while (cache.empty.size > 0) {
+                releaseSlab(cache.empty.first());
+                released++;
+            }
+        }
+        return released;
+    }
+
+    public void printSlabStats() {
+        for (SlabCache cache : caches.values()) {
+            int slabs = cache.full.size + cache.partial.size + cache.empty.size;
+            if (slabs == 0) {
+                continue;
+            }
+            int inUse = cache.full.size * objectsPerSlab;
+            for (Slab s = cache.partial.head; s != null; s = s.next) {
+                inUse += objectsPerSlab - s.freeCount;
+            }
+            System.out.println("Cache de tamanho " + cache.objectSize + ": " + slabs + " slabs (" +
+                    cache.full.size + " cheios, " + cache.partial.size + " parciais, " + cache.empty.size + " vazios), " +
+                    inUse + "/" + slabs * objectsPerSlab + " objetos em uso.");
+        }
+    }
+
+    // Pede um novo slab ao MemoryManager; sob pressão de memória, devolve os
+    // slabs vazios dos outros caches e tenta mais uma vez
+    private Slab newSlab(SlabCache cache) {
+        Process region = new Process("SLAB-" + cache.objectSize + "-" + (slabCounter++), cache.objectSize * objectsPerSlab);
+        if (manager.allocate(region, slabAlgorithm) == -1) {
+            if (reclaim() == 0 || manager.allocate(region, slabAlgorithm) == -1) {
+                return null;
+            }
+        }
+        Slab slab = new Slab(cache, region, objectsPerSlab);
+        cache.empty.add(slab);
+        return slab;
+    }
+
+    private void releaseSlab(Slab slab) {
+        slab.list.remove(slab);
+        manager.deallocate(slab.region);
+    }
+
+    // Posição de um objeto dentro de um slab
+    private static class Slot {
+        final Slab slab;
+        final int index;
+
+        Slot(Slab slab, int index) {
+            this.slab = slab;
+            this.index = index;
+        }
+    }
+
+    private static class SlabCache {
+        final int objectSize;
+        final SlabList full = new SlabList();
+        final SlabList partial = new SlabList();
+        final SlabList empty = new SlabList();
+
+        SlabCache(int objectSize) {
+            this.objectSize = objectSize;
+        }
+    }
+
+    private class Slab {
+        final SlabCache cache;
+        final Process region; // Bloco do slab dentro do MemoryManager
+        long freeBits;        // Bit 1 = objeto livre
+        int freeCount;
+        SlabList list;
+        Slab prev, next;
+
+        Slab(SlabCache cache, Process region, int objects) {
+            this.cache = cache;
+            this.region = region;
+            this.freeBits = objects == 64 ? -1L : (1L << objects) - 1;
+            this.freeCount = objects;
+        }
+
+        // O endereço é consultado no MemoryManager, então continua válido se o slab for movido
+        int objectAddress(int index) {
+            return manager.getStartBlock(region) + index * cache.objectSize;
+        }
+
+        void moveTo(SlabList target) {
+            list.remove(this);
+            target.add(this);
+        }
+    }
+
+    // Lista duplamente encadeada de slabs, com inserção e remoção em O(1)
+    private static class SlabList {
+        Slab head;
+        int size;
+
+        Slab first() {
+            return head;
+        }
+
+        void add(Slab slab) {
+            slab.prev = null;
+            slab.next = head;
+            if (head != null) {
+                head.prev = slab;
+            }
+            head = slab;
+            slab.list = this;
+            size++;
+        }
+
+        void remove(Slab slab) {
+            if (slab.prev != null) {
+                slab.prev.next = slab.next;
+            } else {
+                head = slab.next;
+            }
+            if (slab.next != null) {
+                slab.next.prev = slab.prev;
+            }
+            slab.prev = slab.next = null;
+            slab.list = null;
+            size--;
+        }
+    }
+}
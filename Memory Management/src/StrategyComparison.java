@@ -0,0 +1,199 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// Compara as estratégias de alocação na mesma carga.
+// Para cada semente é gerada uma única sequência de pedidos, reproduzida contra
+// todas as estratégias; as execuções (sementes x estratégias) rodam em paralelo
+// num ForkJoinPool, cada uma com o seu MemoryManager. O resultado de cada
+// estratégia é a média entre as sementes com intervalo de confiança de 95%.
+class StrategyComparison {
+    private static final int FREE_FLAG = TraceRecorder.FREE_FLAG;
+
+    // Valores críticos da distribuição t (bicaudal, 95%) para 1..30 graus de liberdade
+    private static final double[] T_95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+
+    private final int memorySize;
+    private final int processCount;
+    private final int maxProcessSize;
+    private final int events;
+
+    public StrategyComparison(int memorySize, int processCount, int maxProcessSize, int events) {
+        this.memorySize = memorySize;
+        this.processCount = processCount;
+        this.maxProcessSize = maxProcessSize;
+        this.events = events;
+    }
+
+    // Sequência de pedidos gerada por uma semente: cada processo tem tamanho fixo e
+    // alterna entre pedir alocação e liberação (como na simulação). A sequência não
+    // depende do resultado das alocações, então é a mesma para todas as estratégias.
+    static class Workload {
+        final long seed;
+        final int[] sizes;  // id do processo -> tamanho
+        final int[] events; // id do processo, com FREE_FLAG nas liberações
+
+        Workload(long seed, int[] sizes, int[] events) {
+            this.seed = seed;
+            this.sizes = sizes;
+            this.events = events;
+        }
+    }
+
+    // Resultado de uma estratégia em uma carga
+    static class RunResult {
+        final String algorithm;
+        final double failureRate;   // Alocações que falharam / alocações pedidas
+        final double fragmentation; // Média de 1 - maior buraco / memória livre, por evento
+        final double throughput;    // Eventos por segundo
+
+        RunResult(String algorithm, double failureRate, double fragmentation, double throughput) {
+            this.algorithm = algorithm;
+            this.failureRate = failureRate;
+            this.fragmentation = fragmentation;
+            this.throughput = throughput;
+        }
+    }
+
+    public Workload generate(long seed) {
+        Random random = new Random(seed);
+        int[] sizes = new int[processCount];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = 1 + random.nextInt(maxProcessSize);
+        }
+        boolean[] requested = new boolean[processCount];
+        int[] sequence = new int[events];
+        for (int e = 0; e < events; e++) {
+            int id = random.nextInt(processCount);
+            sequence[e] = requested[id] ? id | FREE_FLAG : id;
+            requested[id] = !requested[id];
+        }
+        return new Workload(seed, sizes, sequence);
+    }
+
+    // Reproduz a carga com uma estratégia (pela API de handles, sem criar objetos por evento)
+    public RunResult replay(Workload workload, String algorithm) {
+        MemoryManager manager = new MemoryManager(new BitsetMemoryMap(memorySize));
+        manager.setVerbose(false);
+        FragmentationStats stats = manager.getFragmentationStats();
+        int[] handles = new int[processCount];
+        Arrays.fill(handles, -1);
+
+        long requests = 0;
+        long failures = 0;
+        double fragmentationSum = 0;
+        long startTime = System.nanoTime();
+        for (int event : workload.events) {
+            int id = event & ~FREE_FLAG;
+            if ((event & FREE_FLAG) != 0) {
+                if (handles[id] != -1) {
+                    manager.freeHandle(handles[id]);
+                    handles[id] = -1;
+                }
+            } else {
+                requests++;
+                handles[id] = manager.allocateHandle(workload.sizes[id], algorithm);
+                if (handles[id] == -1) {
+                    failures++;
+                }
+            }
+            long free = stats.getFreeUnits();
+            if (free > 0) {
+                fragmentationSum += 1.0 - (double) stats.getLargestHole() / free;
+            }
+        }
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        return new RunResult(algorithm,
+                requests == 0 ? 0.0 : (double) failures / requests,
+                fragmentationSum / workload.events.length,
+                workload.events.length / seconds);
+    }
+
+    // Roda 'seeds' cargas (sementes baseSeed, baseSeed + 1, ...) contra cada estratégia.
+    // Retorna, para cada estratégia, a lista de resultados na ordem das sementes.
+    public List<List<RunResult>> run(String[] algorithms, int seeds, long baseSeed, int parallelism)
+            throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // As cargas também são geradas em paralelo; cada uma é compartilhada (só leitura)
+            List<Future<Workload>> workloads = new ArrayList<>();
+            for (int s = 0; s < seeds; s++) {
+                long seed = baseSeed + s;
+                workloads.add(pool.submit(() -> generate(seed)));
+            }
+
+            List<Callable<RunResult>> tasks = new ArrayList<>();
+            for (Future<Workload> workload : workloads) {
+                for (String algorithm : algorithms) {
+                    tasks.add(() -> replay(workload.get(), algorithm));
+                }
+            }
+            List<Future<RunResult>> futures = pool.invokeAll(tasks);
+
+            List<List<RunResult>> results = new ArrayList<>();
+            for (int a = 0; a < algorithms.length; a++) {
+                List<RunResult> perSeed = new ArrayList<>();
+                for (int s = 0; s < seeds; s++) {
+                    perSeed.add(futures.get(s * algorithms.length + a).get());
+                }
+                results.add(perSeed);
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha em uma execução da comparação", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Média e meia-largura do intervalo de confiança de 95% (t de Student)
+    static double[] meanWithConfidence(double[] values) {
+        int n = values.length;
+        double mean = 0;
+        for (double v : values) {
+            mean += v;
+        }
+        mean /= n;
+        if (n < 2) {
+            return new double[]{mean, 0.0};
+        }
+        double variance = 0;
+        for (double v : values) {
+            variance += (v - mean) * (v - mean);
+        }
+        variance /= n - 1;
+        double t = n - 1 <= T_95.length ? T_95[n - 2] : 1.96;
+        return new double[]{mean, t * Math.sqrt(variance / n)};
+    }
+
+    public void printReport(String[] algorithms, List<List<RunResult>> results) {
+        int seeds = results.get(0).size();
+        System.out.printf("%-10s %22s %22s %26s%n", "Algoritmo", "Falhas (%)", "Fragmentação (%)", "Vazão (eventos/s)");
+        for (int a = 0; a < algorithms.length; a++) {
+            double[] failures = new double[seeds];
+            double[] fragmentation = new double[seeds];
+            double[] throughput = new double[seeds];
+            for (int s = 0; s < seeds; s++) {
+                RunResult r = results.get(a).get(s);
+                failures[s] = 100 * r.failureRate;
+                fragmentation[s] = 100 * r.fragmentation;
+                throughput[s] = r.throughput;
+            }
+            double[] f = meanWithConfidence(failures);
+            double[] g = meanWithConfidence(fragmentation);
+            double[] t = meanWithConfidence(throughput);
+            System.out.printf("%-10s %12.2f ± %-7.2f %12.2f ± %-7.2f %,14.0f ± %,-9.0f%n",
+                    algorithms[a], f[0], f[1], g[0], g[1], t[0], t[1]);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// Lê um trace gravado pelo TraceRecorder direto do arquivo mapeado em memória.
+// O arquivo é mapeado em janelas de tamanho fixo, então o uso de heap é constante
+// qualquer que seja o tamanho do trace, e nenhum objeto é criado por evento.
+class TraceReader implements Closeable {
+    private static final long WINDOW_BYTES = 64L << 20; // Múltiplo de EVENT_BYTES
+
+    private final FileChannel channel;
+    private final long eventCount;
+    private MappedByteBuffer window;
+    private long position = 0; // Índice do próximo evento
+
+    // Campos do evento atual
+    private int processId;
+    private int size;
+    private boolean free;
+
+    public TraceReader(String path) throws IOException {
+        this.channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, TraceRecorder.HEADER_BYTES);
+        if (header.getInt() != TraceRecorder.MAGIC || header.getInt() != TraceRecorder.VERSION) {
+            channel.close();
+            throw new IOException("Arquivo não é um trace de alocação válido: " + path);
+        }
+        this.eventCount = header.getLong();
+        if (TraceRecorder.HEADER_BYTES + eventCount * TraceRecorder.EVENT_BYTES > channel.size()) {
+            channel.close();
+            throw new IOException("Trace truncado: " + path);
+        }
+    }
+
+    // Avança para o próximo evento; retorna false no fim do trace
+    public boolean next() throws IOException {
+        if (position == eventCount) {
+            return false;
+        }
+        if (window == null || !window.hasRemaining()) {
+            long offset = TraceRecorder.HEADER_BYTES + position * TraceRecorder.EVENT_BYTES;
+            long length = Math.min(WINDOW_BYTES, (eventCount - position) * TraceRecorder.EVENT_BYTES);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        }
+        int header = window.getInt();
+        size = window.getInt();
+        free = (header & TraceRecorder.FREE_FLAG) != 0;
+        processId = header & ~TraceRecorder.FREE_FLAG;
+        position++;
+        return true;
+    }
+
+    public int processId() {
+        return processId;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFree() {
+        return free;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
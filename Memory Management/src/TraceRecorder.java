@@ -0,0 +1,78 @@
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+// Grava um trace binário de pedidos de alocação/liberação.
+// Formato (big-endian):
+//   cabeçalho (16 bytes): MAGIC (int), VERSION (int), quantidade de eventos (long)
+//   evento (8 bytes): id do processo (int, bit 31 = liberação), tamanho (int, 0 na liberação)
+class TraceRecorder implements Closeable {
+    static final int MAGIC = 0x4D4D5452; // "MMTR"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int EVENT_BYTES = 8;
+    static final int FREE_FLAG = 0x80000000;
+
+    private final String path;
+    private final DataOutputStream out;
+    private final Map<String, Integer> processIds = new HashMap<>(); // ID textual -> id numérico do trace
+    private long events = 0;
+
+    public TraceRecorder(String path) throws IOException {
+        this.path = path;
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path), 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(0); // Preenchido no close()
+    }
+
+    public void recordAllocate(Process process) {
+        recordAllocate(idFor(process), process.getSize());
+    }
+
+    public void recordFree(Process process) {
+        recordFree(idFor(process));
+    }
+
+    public void recordAllocate(int processId, int size) {
+        write(processId, size);
+    }
+
+    public void recordFree(int processId) {
+        write(processId | FREE_FLAG, 0);
+    }
+
+    public long getEventCount() {
+        return events;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+        try (RandomAccessFile file = new RandomAccessFile(path, "rw")) {
+            file.seek(8);
+            file.writeLong(events);
+        }
+    }
+
+    private int idFor(Process process) {
+        return processIds.computeIfAbsent(process.getId(), id -> processIds.size());
+    }
+
+    // Chamado dentro de allocate/deallocate, por isso a exceção não é verificada
+    private void write(int header, int size) {
+        try {
+            out.writeInt(header);
+            out.writeInt(size);
+            events++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar o trace em " + path, e);
+        }
+    }
+}
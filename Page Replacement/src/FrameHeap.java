@@ -0,0 +1,95 @@
+import java.util.Arrays;
+
+/**
+ * Heap de máximo indexado sobre os frames da RAM (0 a n - 1), com chave int por frame.
+ * Guarda a posição de cada frame no heap, então trocar a chave de um frame custa O(log n)
+ * e o frame de maior chave sai em O(1). Usado pelo OPT com a chave = próximo uso da página.
+ */
+public class FrameHeap {
+    private final int[] heap;     // Frames em ordem de heap
+    private final int[] position; // Frame -> posição em 'heap', ou -1
+    private final int[] keys;
+    private int size = 0;
+
+    public FrameHeap(int frames) {
+        this.heap = new int[frames];
+        this.position = new int[frames];
+        this.keys = new int[frames];
+        clear();
+    }
+
+    public void clear() {
+        Arrays.fill(position, -1);
+        size = 0;
+    }
+
+    /**
+     * Insere o frame ou troca a sua chave.
+     */
+    public void set(int frame, int key) {
+        int pos = position[frame];
+        if (pos == -1) {
+            pos = size++;
+            heap[pos] = frame;
+            position[frame] = pos;
+            keys[frame] = key;
+            siftUp(pos);
+        } else {
+            int old = keys[frame];
+            keys[frame] = key;
+            if (key > old) {
+                siftUp(pos);
+            } else {
+                siftDown(pos);
+            }
+        }
+    }
+
+    /**
+     * @return O frame de maior chave, ou -1 se o heap estiver vazio.
+     */
+    public int top() {
+        return size == 0 ? -1 : heap[0];
+    }
+
+    public int key(int frame) {
+        return keys[frame];
+    }
+
+    private void siftUp(int pos) {
+        int frame = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (keys[heap[parent]] >= keys[frame]) {
+                break;
+            }
+            move(heap[parent], pos);
+            pos = parent;
+        }
+        move(frame, pos);
+    }
+
+    private void siftDown(int pos) {
+        int frame = heap[pos];
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && keys[heap[child + 1]] > keys[heap[child]]) {
+                child++;
+            }
+            if (keys[heap[child]] <= keys[frame]) {
+                break;
+            }
+            move(heap[child], pos);
+            pos = child;
+        }
+        move(frame, pos);
+    }
+
+    private void move(int frame, int pos) {
+        heap[pos] = frame;
+        position[frame] = pos;
+    }
+}
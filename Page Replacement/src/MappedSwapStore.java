@@ -0,0 +1,233 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * SWAP guardado num arquivo mapeado em memória, com registros de tamanho fixo por página
+ * (N, I, D, T como int, R e M como byte). Nada fica no heap além dos mapeamentos, então
+ * SWAPs de muitos milhões de páginas cabem; o arquivo continua no disco após a simulação.
+ * Page-in e write-back leem e gravam o registro pelo mapeamento, contando bytes e tempo.
+ * Com lote > 0 os write-backs ficam pendentes e são gravados juntos, em ordem de posição,
+ * formando escritas sequenciais; um page-in de página pendente é servido pelo lote.
+ */
+public class MappedSwapStore implements SwapStore, Closeable {
+    public static final int RECORD_BYTES = 20; // 4 ints + 2 bytes + 2 de alinhamento
+    private static final int SEGMENT_SHIFT = 25; // 2^25 registros por mapeamento (640 MB)
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+    private final int size;
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+
+    // Write-backs pendentes (lote), em colunas como no PageStore
+    private final int batchSize;
+    private final int[] pendingSlot;
+    private final int[] pendingI;
+    private final int[] pendingD;
+    private final int[] pendingT;
+    private final byte[] pendingR;
+    private final long[] flushOrder; // (posição << 32 | índice no lote), ordenado a cada gravação
+    private int pendingCount = 0;
+
+    // Contadores de E/S
+    private long bytesRead = 0;
+    private long bytesWritten = 0;
+    private long writeRuns = 0;
+    private long ioNanos = 0;
+
+    /**
+     * @param size Quantidade de páginas do SWAP.
+     * @param batchSize Write-backs acumulados antes de gravar (0 = gravar na hora).
+     */
+    public MappedSwapStore(String path, int size, int batchSize) throws IOException {
+        if (size <= 0 || batchSize < 0) {
+            throw new IllegalArgumentException("Parâmetros inválidos: " + size + " páginas, lote de " + batchSize);
+        }
+        this.size = size;
+        this.batchSize = batchSize;
+        this.channel = FileChannel.open(Paths.get(path),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int segmentCount = ((size - 1) >>> SEGMENT_SHIFT) + 1;
+        this.segments = new MappedByteBuffer[segmentCount];
+        try {
+            for (int s = 0; s < segmentCount; s++) {
+                long first = (long) s << SEGMENT_SHIFT;
+                long records = Math.min(1L << SEGMENT_SHIFT, size - first);
+                segments[s] = channel.map(FileChannel.MapMode.READ_WRITE, first * RECORD_BYTES, records * RECORD_BYTES);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.pendingSlot = new int[batchSize];
+        this.pendingI = new int[batchSize];
+        this.pendingD = new int[batchSize];
+        this.pendingT = new int[batchSize];
+        this.pendingR = new byte[batchSize];
+        this.flushOrder = new long[batchSize];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void set(int slot, int N, int I, int D, int R, int M, int T) {
+        int pending = pendingIndex(slot);
+        if (pending != -1) {
+            removePending(pending);
+        }
+        writeRecord(slot, N, I, D, R, M, T);
+    }
+
+    @Override
+    public void readInto(int slot, PageStore ram, int frame) {
+        int pending = pendingIndex(slot);
+        if (pending != -1) {
+            // Ainda no lote: a versão mais nova está em memória
+            ram.set(frame, pendingSlot[pending], pendingI[pending], pendingD[pending], pendingR[pending], 0, pendingT[pending]);
+            return;
+        }
+        long start = System.nanoTime();
+        MappedByteBuffer segment = segments[slot >>> SEGMENT_SHIFT];
+        int pos = (slot & SEGMENT_MASK) * RECORD_BYTES;
+        ram.set(frame, segment.getInt(pos), segment.getInt(pos + 4), segment.getInt(pos + 8),
+                segment.get(pos + 16), segment.get(pos + 17), segment.getInt(pos + 12));
+        ioNanos += System.nanoTime() - start;
+        bytesRead += RECORD_BYTES;
+    }
+
+    @Override
+    public void writeBack(PageStore ram, int frame, int slot) {
+        if (batchSize == 0) {
+            writeRecord(slot, ram.getN(frame), ram.getI(frame), ram.getD(frame), ram.getR(frame), 0, ram.getT(frame));
+            bytesWritten += RECORD_BYTES;
+            writeRuns++;
+            return;
+        }
+        int pending = pendingIndex(slot);
+        if (pending == -1) {
+            if (pendingCount == batchSize) {
+                flush();
+            }
+            pending = pendingCount++;
+            pendingSlot[pending] = slot;
+        }
+        pendingI[pending] = ram.getI(frame);
+        pendingD[pending] = ram.getD(frame);
+        pendingT[pending] = ram.getT(frame);
+        pendingR[pending] = (byte) ram.getR(frame);
+    }
+
+    /**
+     * Grava o lote em ordem crescente de posição; posições consecutivas formam uma única escrita sequencial.
+     */
+    @Override
+    public void flush() {
+        if (pendingCount == 0) {
+            return;
+        }
+        for (int p = 0; p < pendingCount; p++) {
+            flushOrder[p] = ((long) pendingSlot[p] << 32) | p;
+        }
+        Arrays.sort(flushOrder, 0, pendingCount);
+        int previousSlot = -2;
+        for (int k = 0; k < pendingCount; k++) {
+            int p = (int) flushOrder[k];
+            int slot = pendingSlot[p];
+            if (slot != previousSlot + 1) {
+                writeRuns++;
+            }
+            writeRecord(slot, slot, pendingI[p], pendingD[p], pendingR[p], 0, pendingT[p]);
+            previousSlot = slot;
+        }
+        bytesWritten += (long) pendingCount * RECORD_BYTES;
+        pendingCount = 0;
+    }
+
+    /**
+     * Grava as páginas modificadas do mapeamento no disco.
+     */
+    public void force() {
+        flush();
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    @Override
+    public boolean measuresIo() {
+        return true;
+    }
+
+    @Override
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public long getWriteRuns() {
+        return writeRuns;
+    }
+
+    @Override
+    public long getIoNanos() {
+        return ioNanos;
+    }
+
+    @Override
+    public void resetCounters() {
+        bytesRead = 0;
+        bytesWritten = 0;
+        writeRuns = 0;
+        ioNanos = 0;
+    }
+
+    private void writeRecord(int slot, int N, int I, int D, int R, int M, int T) {
+        long start = System.nanoTime();
+        MappedByteBuffer segment = segments[slot >>> SEGMENT_SHIFT];
+        int pos = (slot & SEGMENT_MASK) * RECORD_BYTES;
+        segment.putInt(pos, N);
+        segment.putInt(pos + 4, I);
+        segment.putInt(pos + 8, D);
+        segment.putInt(pos + 12, T);
+        segment.put(pos + 16, (byte) R);
+        segment.put(pos + 17, (byte) M);
+        ioNanos += System.nanoTime() - start;
+    }
+
+    // Busca linear: o lote é pequeno (dezenas de páginas)
+    private int pendingIndex(int slot) {
+        for (int p = 0; p < pendingCount; p++) {
+            if (pendingSlot[p] == slot) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    private void removePending(int p) {
+        pendingCount--;
+        pendingSlot[p] = pendingSlot[pendingCount];
+        pendingI[p] = pendingI[pendingCount];
+        pendingD[p] = pendingD[pendingCount];
+        pendingT[p] = pendingT[pendingCount];
+        pendingR[p] = pendingR[pendingCount];
+    }
+}
@@ -0,0 +1,740 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Memória virtual com vários processos disputando os mesmos frames da RAM.
+ * Cada processo tem o seu espaço de endereçamento (páginas 0 a pages - 1, com I = N + 1 como no
+ * simulador de um processo), a sua tabela de páginas, o seu SWAP e a sua fonte de referências.
+ * Os processos rodam em round-robin (quantum em referências) e a vítima é escolhida por CLOCK:
+ * - substituição local: cada processo só substitui os próprios frames, e a sua cota de frames é
+ *   ajustada pela frequência de faltas (PFF): cresce quando a taxa de faltas da janela passa do
+ *   limite superior (se houver frames sem dono) e encolhe quando fica abaixo do inferior;
+ * - substituição global: a vítima pode ser qualquer frame, de qualquer processo.
+ * O conjunto de trabalho de cada processo (páginas distintas nas últimas tau referências, em tempo
+ * virtual) é mantido a cada referência. A cada intervalo de controle, taxa de faltas alta com a soma
+ * dos conjuntos de trabalho maior que a RAM indica thrashing; com o controle de carga ligado, o
+ * processo com mais frames é suspenso (suas páginas vão para o SWAP) e só volta quando o seu
+ * conjunto de trabalho cabe de novo.
+ */
+public class MultiProcessSimulator {
+
+    // Valores padrão (podem ser trocados pelos setters)
+    private static final int DEFAULT_QUANTUM = 100;
+    private static final int DEFAULT_RESET_R_INTERVAL = 10;
+    private static final int DEFAULT_WS_WINDOW = 500;
+    private static final int DEFAULT_PFF_WINDOW = 500;
+    private static final double DEFAULT_PFF_LOW = 0.02;
+    private static final double DEFAULT_PFF_HIGH = 0.10;
+    private static final int DEFAULT_CONTROL_INTERVAL = 2000;
+    private static final double DEFAULT_THRASHING_RATE = 0.20;
+
+    // Estados dos processos
+    private static final int READY = 0, SUSPENDED = 1, FINISHED = 2;
+
+    // Tamanhos desta simulação
+    private final int frames;
+    private final int processes;
+    private final int pages; // Páginas do espaço de endereçamento de cada processo
+    private final long referencesPerProcess;
+    private final String sourceSpec;
+
+    // Configuração
+    private boolean localReplacement = true;
+    private boolean loadControl = true;
+    private int quantum = DEFAULT_QUANTUM;
+    private int resetRInterval = DEFAULT_RESET_R_INTERVAL;
+    private int wsWindow = DEFAULT_WS_WINDOW;
+    private int pffWindow = DEFAULT_PFF_WINDOW;
+    private double pffLow = DEFAULT_PFF_LOW;
+    private double pffHigh = DEFAULT_PFF_HIGH;
+    private int controlInterval = DEFAULT_CONTROL_INTERVAL;
+    private double thrashingRate = DEFAULT_THRASHING_RATE;
+    private boolean verbose = true;
+    private Long seed = null;
+    private Random random = new Random();
+
+    // RAM compartilhada (N = página dentro do processo dono) e frames sem dono
+    private final PageStore ram;
+    private final int[] owner; // Processo dono de cada frame, ou -1 se estiver livre
+    private final int[] freeFrames;
+    private int freeCount;
+    private int globalHand = 0; // Ponteiro do CLOCK global
+    private int allocatedFrames; // Soma das cotas dos processos prontos (substituição local)
+
+    // Frames de cada processo: lista circular intrusiva pelos índices dos frames.
+    // É o anel do CLOCK local e permite liberar todos os frames de um processo.
+    private final int[] framePrev;
+    private final int[] frameNext;
+
+    // Estado de cada processo
+    private final int[][] frameOf; // Tabela de páginas: página -> frame, ou -1 se estiver no SWAP
+    private final PageStore[] swaps;
+    private final ReferenceSource[] sources;
+    private final int[] hand;       // Ponteiro do CLOCK local (-1 = sem frames)
+    private final int[] resident;   // Frames ocupados
+    private final int[] allocation; // Cota de frames (substituição local)
+    private final int[] state;
+    private final long[] executed;  // Referências executadas (tempo virtual do processo)
+    private final long[] windowFaults; // Faltas na janela atual do PFF
+
+    // Conjunto de trabalho: as últimas wsWindow referências (anel) e quantas vezes cada página aparece nelas
+    private final int[][] wsRing;
+    private final int[][] wsCount;
+    private final int[] wsSize;
+
+    // Processos suspensos, na ordem da suspensão (anel)
+    private final int[] suspendedQueue;
+    private int suspendedHead = 0;
+    private int suspendedCount = 0;
+    private int finishedCount = 0;
+
+    // Contadores por processo
+    private final long[] faults;
+    private final long[] writeBacks;
+    private final long[] suspensions;
+    private final long[] wsSum;       // Soma do conjunto de trabalho a cada referência (para a média)
+    private final long[] residentSum; // Soma dos frames ocupados a cada referência (para a média)
+
+    // Contadores do sistema
+    private long totalReferences;
+    private long totalFaults;
+    private long totalWriteBacks;
+    private long totalSuspensions;
+    private long intervalReferences;
+    private long intervalFaults;
+    private long controlIntervals;
+    private long thrashingIntervals;
+
+    /**
+     * @param frames Quantidade de frames da RAM (pelo menos um por processo).
+     * @param processes Quantidade de processos.
+     * @param pages Páginas do espaço de endereçamento de cada processo.
+     * @param referencesPerProcess Referências que cada processo executa antes de terminar.
+     * @param sourceSpec Fonte das referências de cada processo (ver PageReplacementSimulator.createSource).
+     */
+    public MultiProcessSimulator(int frames, int processes, int pages, long referencesPerProcess, String sourceSpec) {
+        if (processes <= 0 || frames < processes || pages <= 0 || referencesPerProcess <= 0) {
+            throw new IllegalArgumentException("Tamanhos inválidos: " + frames + " frames, " + processes
+                    + " processos, " + pages + " páginas, " + referencesPerProcess + " referências");
+        }
+        this.frames = frames;
+        this.processes = processes;
+        this.pages = pages;
+        this.referencesPerProcess = referencesPerProcess;
+        this.sourceSpec = sourceSpec;
+        this.ram = new PageStore(frames);
+        this.owner = new int[frames];
+        this.freeFrames = new int[frames];
+        this.framePrev = new int[frames];
+        this.frameNext = new int[frames];
+        this.frameOf = new int[processes][pages];
+        this.swaps = new PageStore[processes];
+        this.sources = new ReferenceSource[processes];
+        this.hand = new int[processes];
+        this.resident = new int[processes];
+        this.allocation = new int[processes];
+        this.state = new int[processes];
+        this.executed = new long[processes];
+        this.windowFaults = new long[processes];
+        this.wsRing = new int[processes][];
+        this.wsCount = new int[processes][pages];
+        this.wsSize = new int[processes];
+        this.suspendedQueue = new int[processes];
+        this.faults = new long[processes];
+        this.writeBacks = new long[processes];
+        this.suspensions = new long[processes];
+        this.wsSum = new long[processes];
+        this.residentSum = new long[processes];
+        for (int p = 0; p < processes; p++) {
+            swaps[p] = new PageStore(pages);
+        }
+    }
+
+    /**
+     * Substituição local (cada processo só perde os próprios frames, com cotas ajustadas pelo PFF)
+     * ou global (qualquer frame pode ser a vítima). Padrão: local.
+     */
+    public void setLocalReplacement(boolean localReplacement) {
+        this.localReplacement = localReplacement;
+    }
+
+    /**
+     * Liga ou desliga a suspensão de processos quando há thrashing. Padrão: ligado.
+     */
+    public void setLoadControl(boolean loadControl) {
+        this.loadControl = loadControl;
+    }
+
+    /**
+     * Referências executadas por um processo antes de passar a vez. Padrão: 100.
+     */
+    public void setQuantum(int quantum) {
+        if (quantum <= 0) {
+            throw new IllegalArgumentException("Quantum inválido: " + quantum);
+        }
+        this.quantum = quantum;
+    }
+
+    /**
+     * Referências (do sistema) entre as zeragens dos bits R. Padrão: 10.
+     */
+    public void setResetRInterval(int resetRInterval) {
+        if (resetRInterval <= 0) {
+            throw new IllegalArgumentException("Intervalo de zeragem inválido: " + resetRInterval);
+        }
+        this.resetRInterval = resetRInterval;
+    }
+
+    /**
+     * Janela tau do conjunto de trabalho, em referências do próprio processo. Padrão: 500.
+     */
+    public void setWorkingSetWindow(int wsWindow) {
+        if (wsWindow <= 0) {
+            throw new IllegalArgumentException("Janela do conjunto de trabalho inválida: " + wsWindow);
+        }
+        this.wsWindow = wsWindow;
+    }
+
+    /**
+     * Limites do PFF: a cada 'window' referências do processo, taxa de faltas acima de 'high'
+     * aumenta a cota em um frame e abaixo de 'low' diminui. Padrão: 500, 2% e 10%.
+     */
+    public void setPageFaultFrequency(int window, double low, double high) {
+        if (window <= 0 || low < 0 || high < low) {
+            throw new IllegalArgumentException("Parâmetros do PFF inválidos: " + window + ", " + low + ", " + high);
+        }
+        this.pffWindow = window;
+        this.pffLow = low;
+        this.pffHigh = high;
+    }
+
+    /**
+     * Detecção de thrashing: a cada 'interval' referências do sistema, taxa de faltas acima de
+     * 'rate' com os conjuntos de trabalho maiores que a RAM. Padrão: 2000 e 20%.
+     */
+    public void setThrashingDetection(int interval, double rate) {
+        if (interval <= 0 || rate < 0) {
+            throw new IllegalArgumentException("Parâmetros de thrashing inválidos: " + interval + ", " + rate);
+        }
+        this.controlInterval = interval;
+        this.thrashingRate = rate;
+    }
+
+    /**
+     * Liga ou desliga a impressão do relatório de cada simulação.
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    /**
+     * Fixa a semente: as fontes, os SWAPs e as modificações passam a repetir a cada simulação.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public long getTotalReferences() {
+        return totalReferences;
+    }
+
+    public long getTotalFaults() {
+        return totalFaults;
+    }
+
+    public long getTotalWriteBacks() {
+        return totalWriteBacks;
+    }
+
+    public long getTotalSuspensions() {
+        return totalSuspensions;
+    }
+
+    public long getThrashingIntervals() {
+        return thrashingIntervals;
+    }
+
+    public long getControlIntervals() {
+        return controlIntervals;
+    }
+
+    /**
+     * @return Page faults do processo na última simulação.
+     */
+    public long getFaults(int process) {
+        return faults[process];
+    }
+
+    /**
+     * Executa todos os processos até o fim.
+     * @return O total de page faults do sistema.
+     */
+    public long run() throws IOException {
+        initialize();
+        try {
+            int current = -1;
+            long time = 0;
+            while (finishedCount < processes) {
+                int p = nextReady(current);
+                if (p == -1) {
+                    // Só restam suspensos: o mais antigo volta, mesmo sem caber
+                    resume(dequeueSuspended());
+                    continue;
+                }
+                current = p;
+                for (int q = 0; q < quantum && state[p] == READY; q++) {
+                    reference(p, sources[p].next());
+                    if (executed[p] == referencesPerProcess || !sources[p].hasNext()) {
+                        finish(p);
+                    }
+                    time++;
+                    // (Obs4) Os bits R de toda a RAM são zerados periodicamente
+                    if (time % resetRInterval == 0) {
+                        ram.clearAllR();
+                    }
+                    if (time % controlInterval == 0) {
+                        controlLoad(); // Pode suspender o processo atual
+                    }
+                }
+            }
+        } finally {
+            for (ReferenceSource source : sources) {
+                if (source instanceof Closeable closeable) {
+                    closeable.close();
+                }
+            }
+        }
+        if (verbose) {
+            printReport();
+        }
+        return totalFaults;
+    }
+
+    /**
+     * Zera a RAM, os processos e os contadores; cria as fontes e preenche os SWAPs.
+     */
+    private void initialize() throws IOException {
+        if (seed != null) {
+            random = new Random(seed);
+        }
+        for (int p = 0; p < processes; p++) {
+            sources[p] = PageReplacementSimulator.createSource(sourceSpec, pages, frames / processes, random.nextLong());
+        }
+        for (int p = 0; p < processes; p++) {
+            for (int i = 0; i < pages; i++) {
+                int D = random.nextInt(50) + 1;      // 1 a 50
+                int T = random.nextInt(9900) + 100;  // 100 a 9999
+                swaps[p].set(i, i, i + 1, D, 0, 0, T);
+            }
+        }
+
+        // RAM vazia: as páginas entram por demanda
+        for (int f = 0; f < frames; f++) {
+            owner[f] = -1;
+            freeFrames[f] = frames - 1 - f; // O frame 0 é o primeiro a ser usado
+        }
+        freeCount = frames;
+        globalHand = 0;
+
+        // Cota inicial: a RAM dividida igualmente (o resto fica livre para o PFF)
+        allocatedFrames = 0;
+        for (int p = 0; p < processes; p++) {
+            Arrays.fill(frameOf[p], -1);
+            Arrays.fill(wsCount[p], 0);
+            wsRing[p] = new int[wsWindow];
+            wsSize[p] = 0;
+            hand[p] = -1;
+            resident[p] = 0;
+            allocation[p] = localReplacement ? frames / processes : 0;
+            allocatedFrames += allocation[p];
+            state[p] = READY;
+            executed[p] = 0;
+            windowFaults[p] = 0;
+            faults[p] = 0;
+            writeBacks[p] = 0;
+            suspensions[p] = 0;
+            wsSum[p] = 0;
+            residentSum[p] = 0;
+        }
+        suspendedHead = 0;
+        suspendedCount = 0;
+        finishedCount = 0;
+
+        totalReferences = 0;
+        totalFaults = 0;
+        totalWriteBacks = 0;
+        totalSuspensions = 0;
+        intervalReferences = 0;
+        intervalFaults = 0;
+        controlIntervals = 0;
+        thrashingIntervals = 0;
+    }
+
+    /**
+     * Próximo processo pronto depois de 'current' (round-robin), ou -1 se não houver.
+     */
+    private int nextReady(int current) {
+        for (int k = 1; k <= processes; k++) {
+            int p = (current + k) % processes;
+            if (state[p] == READY) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Uma referência do processo p à sua página 'page'.
+     */
+    private void reference(int p, int page) {
+        executed[p]++;
+        totalReferences++;
+        intervalReferences++;
+        updateWorkingSet(p, page);
+
+        int frame = frameOf[p][page];
+        if (frame != -1) {
+            // --- PAGE HIT --- (mesmas regras do simulador de um processo)
+            ram.setR(frame, true);
+            if (random.nextDouble() < 0.5) {
+                ram.incrementD(frame);
+                ram.setM(frame, true);
+            }
+        } else {
+            handlePageFault(p, page);
+        }
+
+        wsSum[p] += wsSize[p];
+        residentSum[p] += resident[p];
+        if (localReplacement && executed[p] % pffWindow == 0) {
+            adjustAllocation(p);
+        }
+    }
+
+    /**
+     * Acrescenta a página ao conjunto de trabalho e retira a referência que saiu da janela, em O(1).
+     */
+    private void updateWorkingSet(int p, int page) {
+        int[] ring = wsRing[p];
+        int[] count = wsCount[p];
+        int slot = (int) ((executed[p] - 1) % wsWindow);
+        if (executed[p] > wsWindow && --count[ring[slot]] == 0) {
+            wsSize[p]--;
+        }
+        ring[slot] = page;
+        if (count[page]++ == 0) {
+            wsSize[p]++;
+        }
+    }
+
+    /**
+     * Falta: usa um frame livre (dentro da cota, na substituição local) ou substitui uma vítima.
+     */
+    private void handlePageFault(int p, int page) {
+        faults[p]++;
+        totalFaults++;
+        intervalFaults++;
+        windowFaults[p]++;
+
+        int frame;
+        if (localReplacement) {
+            // A soma das cotas nunca passa da RAM, então abaixo da cota sempre há frame livre
+            frame = resident[p] < allocation[p] ? takeFreeFrame() : localVictim(p);
+        } else {
+            frame = freeCount > 0 ? takeFreeFrame() : globalVictim();
+        }
+        if (owner[frame] != -1) {
+            evict(frame, false);
+        }
+        load(p, page, frame);
+    }
+
+    /**
+     * CLOCK no anel de frames do próprio processo.
+     */
+    private int localVictim(int p) {
+        int frame = hand[p];
+        while (ram.getR(frame) == 1) {
+            ram.setR(frame, false); // Segunda chance
+            frame = frameNext[frame];
+        }
+        hand[p] = frameNext[frame];
+        return frame;
+    }
+
+    /**
+     * CLOCK em toda a RAM (só chamado sem frames livres, então todo frame tem dono).
+     */
+    private int globalVictim() {
+        while (true) {
+            int frame = globalHand;
+            globalHand = (globalHand + 1) % frames;
+            if (ram.getR(frame) == 0) {
+                return frame;
+            }
+            ram.setR(frame, false); // Segunda chance
+        }
+    }
+
+    /**
+     * PFF: ajusta a cota do processo pela taxa de faltas da última janela.
+     */
+    private void adjustAllocation(int p) {
+        double rate = (double) windowFaults[p] / pffWindow;
+        windowFaults[p] = 0;
+        if (rate > pffHigh) {
+            if (allocatedFrames < frames) {
+                allocation[p]++;
+                allocatedFrames++;
+            }
+        } else if (rate < pffLow && allocation[p] > 1) {
+            allocation[p]--;
+            allocatedFrames--;
+            while (resident[p] > allocation[p]) {
+                releaseFrame(localVictim(p), false);
+            }
+        }
+    }
+
+    /**
+     * Controle de carga: mede o intervalo que terminou e suspende ou retoma um processo.
+     */
+    private void controlLoad() {
+        double rate = intervalReferences == 0 ? 0.0 : (double) intervalFaults / intervalReferences;
+        intervalReferences = 0;
+        intervalFaults = 0;
+
+        long demand = 0; // Soma dos conjuntos de trabalho dos processos prontos
+        int ready = 0;
+        int largest = -1;
+        for (int p = 0; p < processes; p++) {
+            if (state[p] == READY) {
+                demand += wsSize[p];
+                ready++;
+                if (largest == -1 || resident[p] > resident[largest]) {
+                    largest = p;
+                }
+            }
+        }
+        boolean thrashing = rate > thrashingRate && demand > frames;
+        controlIntervals++;
+        if (thrashing) {
+            thrashingIntervals++;
+        }
+        if (!loadControl) {
+            return;
+        }
+
+        if (thrashing && ready > 1) {
+            suspend(largest); // O que mais libera frames
+        } else if (!thrashing && suspendedCount > 0) {
+            int next = suspendedQueue[suspendedHead];
+            boolean fits = demand + wsSize[next] <= frames;
+            if (fits && (!localReplacement || allocatedFrames < frames)) {
+                resume(dequeueSuspended());
+            }
+        }
+    }
+
+    /**
+     * Suspende o processo: todas as suas páginas vão para o SWAP e a sua cota volta para a RAM livre.
+     */
+    private void suspend(int p) {
+        releaseAllFrames(p, false);
+        allocatedFrames -= allocation[p];
+        state[p] = SUSPENDED;
+        suspensions[p]++;
+        totalSuspensions++;
+        suspendedQueue[(suspendedHead + suspendedCount) % processes] = p;
+        suspendedCount++;
+    }
+
+    /**
+     * Retoma o processo com uma cota do tamanho do seu último conjunto de trabalho (o que couber).
+     */
+    private void resume(int p) {
+        state[p] = READY;
+        if (localReplacement) {
+            allocation[p] = Math.max(1, Math.min(wsSize[p], frames - allocatedFrames));
+            allocatedFrames += allocation[p];
+            // Sem frames sobrando (só quando é forçado), a cota sai de quem tem mais
+            while (allocatedFrames > frames) {
+                shrinkLargestAllocation(p);
+            }
+        }
+    }
+
+    private int dequeueSuspended() {
+        int p = suspendedQueue[suspendedHead];
+        suspendedHead = (suspendedHead + 1) % processes;
+        suspendedCount--;
+        return p;
+    }
+
+    /**
+     * Tira um frame da cota do maior processo pronto (exceto 'except').
+     */
+    private void shrinkLargestAllocation(int except) {
+        int largest = -1;
+        for (int p = 0; p < processes; p++) {
+            if (p != except && state[p] == READY && allocation[p] > 1
+                    && (largest == -1 || allocation[p] > allocation[largest])) {
+                largest = p;
+            }
+        }
+        allocation[largest]--;
+        allocatedFrames--;
+        while (resident[largest] > allocation[largest]) {
+            releaseFrame(localVictim(largest), false);
+        }
+    }
+
+    private void finish(int p) {
+        releaseAllFrames(p, true); // As páginas de um processo que terminou são descartadas, sem write-back
+        allocatedFrames -= allocation[p];
+        allocation[p] = 0;
+        state[p] = FINISHED;
+        finishedCount++;
+    }
+
+    private void releaseAllFrames(int p, boolean discard) {
+        while (hand[p] != -1) {
+            releaseFrame(hand[p], discard);
+        }
+    }
+
+    private int takeFreeFrame() {
+        return freeFrames[--freeCount];
+    }
+
+    private void releaseFrame(int frame, boolean discard) {
+        evict(frame, discard);
+        freeFrames[freeCount++] = frame;
+    }
+
+    /**
+     * Tira a página do frame: write-back se estiver suja (M=1) e atualização da tabela do dono.
+     * @param discard true quando o dono terminou: a página é descartada sem write-back.
+     */
+    private void evict(int frame, boolean discard) {
+        int p = owner[frame];
+        int page = ram.getN(frame);
+        if (!discard && ram.getM(frame) == 1) {
+            swaps[p].writeBack(ram, frame, page);
+            writeBacks[p]++;
+            totalWriteBacks++;
+        }
+        frameOf[p][page] = -1;
+        unlinkFrame(p, frame);
+        owner[frame] = -1;
+        resident[p]--;
+    }
+
+    /**
+     * Page-in da página do processo no frame (que entra no anel do processo antes do ponteiro,
+     * ou seja, é o último a ser examinado pelo CLOCK local).
+     */
+    private void load(int p, int page, int frame) {
+        swaps[p].readInto(page, ram, frame);
+        frameOf[p][page] = frame;
+        owner[frame] = p;
+        linkFrame(p, frame);
+        resident[p]++;
+    }
+
+    private void linkFrame(int p, int frame) {
+        int h = hand[p];
+        if (h == -1) {
+            framePrev[frame] = frame;
+            frameNext[frame] = frame;
+            hand[p] = frame;
+            return;
+        }
+        int prev = framePrev[h];
+        framePrev[frame] = prev;
+        frameNext[frame] = h;
+        frameNext[prev] = frame;
+        framePrev[h] = frame;
+    }
+
+    private void unlinkFrame(int p, int frame) {
+        int next = frameNext[frame];
+        if (next == frame) {
+            hand[p] = -1; // Era o único frame do processo
+            return;
+        }
+        int prev = framePrev[frame];
+        frameNext[prev] = next;
+        framePrev[next] = prev;
+        if (hand[p] == frame) {
+            hand[p] = next;
+        }
+    }
+
+    /**
+     * Imprime as taxas de faltas de cada processo e do sistema.
+     */
+    public void printReport() {
+        System.out.println("\n--- " + (localReplacement ? "Substituição local (PFF)" : "Substituição global")
+                + ", controle de carga " + (loadControl ? "ligado" : "desligado") + " ---");
+        System.out.println("---------------------------------------------------------------------------------------");
+        System.out.println("| Processo | Referências |  Page Faults | Faltas (%) | WS médio | Frames médios | Susp. |");
+        System.out.println("---------------------------------------------------------------------------------------");
+        for (int p = 0; p < processes; p++) {
+            long refs = executed[p];
+            System.out.printf("| %8d | %11d | %12d | %10.2f | %8.1f | %13.1f | %5d |\n",
+                    p, refs, faults[p], refs == 0 ? 0.0 : 100.0 * faults[p] / refs,
+                    refs == 0 ? 0.0 : (double) wsSum[p] / refs, refs == 0 ? 0.0 : (double) residentSum[p] / refs,
+                    suspensions[p]);
+        }
+        System.out.println("---------------------------------------------------------------------------------------");
+        System.out.printf("Sistema: %d referências, %d page faults (%.2f%%), %d write backs, %d suspensões, "
+                        + "thrashing em %d de %d intervalos\n",
+                totalReferences, totalFaults, totalReferences == 0 ? 0.0 : 100.0 * totalFaults / totalReferences,
+                totalWriteBacks, totalSuspensions, thrashingIntervals, controlIntervals);
+    }
+
+    /**
+     * Compara substituição local (PFF) e global, com e sem controle de carga, nas mesmas referências.
+     * Uso: MultiProcessSimulator [frames da RAM] [processos] [páginas por processo] [referências por processo]
+     *      [semente] [fonte]
+     */
+    public static void main(String[] args) throws IOException {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int processes = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int pages = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        long references = args.length > 3 ? Long.parseLong(args[3]) : 20000;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : new Random().nextLong();
+        String source = args.length > 5 ? args[5] : "zipf";
+
+        System.out.println("Memória virtual: " + processes + " processos de " + pages + " páginas, "
+                + frames + " frames, " + references + " referências por processo (" + source + ")");
+
+        boolean[] localModes = {true, true, false, false};
+        boolean[] controlModes = {false, true, false, true};
+        long[][] results = new long[localModes.length][];
+        for (int c = 0; c < localModes.length; c++) {
+            MultiProcessSimulator simulator = new MultiProcessSimulator(frames, processes, pages, references, source);
+            simulator.setSeed(seed);
+            simulator.setLocalReplacement(localModes[c]);
+            simulator.setLoadControl(controlModes[c]);
+            simulator.run();
+            results[c] = new long[]{simulator.getTotalReferences(), simulator.getTotalFaults(),
+                    simulator.getTotalSuspensions(), simulator.getThrashingIntervals()};
+        }
+
+        System.out.println("\n--- Resumo do sistema ---");
+        System.out.println("-----------------------------------------------------------------------");
+        System.out.println("| Substituição | Controle  |  Page Faults | Faltas (%) | Susp. | Thr. |");
+        System.out.println("-----------------------------------------------------------------------");
+        for (int c = 0; c < localModes.length; c++) {
+            long[] r = results[c];
+            System.out.printf("| %-12s | %-9s | %12d | %10.2f | %5d | %4d |\n",
+                    localModes[c] ? "local (PFF)" : "global", controlModes[c] ? "ligado" : "desligado",
+                    r[1], r[0] == 0 ? 0.0 : 100.0 * r[1] / r[0], r[2], r[3]);
+        }
+        System.out.println("-----------------------------------------------------------------------");
+    }
+}
@@ -0,0 +1,275 @@
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Limpador de páginas (page cleaner) em segundo plano.
+ * A cada zeragem dos bits R o simulador entrega um lote de frames sujos e não usados
+ * recentemente (M=1, R=0, sem acesso há pelo menos um frame por instrução e ainda não limpos
+ * desde o page-in): o conteúdo vai para o lote e o bit M é zerado, então essas páginas
+ * passam a ser vítimas limpas. A thread do limpador grava os lotes no SWAP de forma assíncrona,
+ * fora do caminho da falta.
+ * A escolha dos frames fica na thread da simulação, que é a única que mexe nos bits R e M;
+ * a thread do limpador só faz a E/S. Antes de ler ou gravar uma página no SWAP, o simulador
+ * espera as gravações pendentes dela (awaitSlot), para nunca ler uma versão antiga nem deixar
+ * uma gravação antiga sobrescrever uma nova. Todo acesso ao SWAP é sincronizado no próprio SWAP.
+ */
+public class PageCleaner implements Closeable {
+    private static final int BATCHES = 4; // Lotes em circulação (sendo preenchidos ou esperando gravação)
+
+    private final SwapStore swap;
+    private final int batchSize;
+    private final PageStore[] batchPages; // Conteúdo das páginas de cada lote
+    private final int[][] batchSlots;     // Posição no SWAP de cada página do lote
+    private final int[] batchCount;
+
+    // Lotes livres e fila de lotes entregues (a cabeça é o lote sendo gravado)
+    private final int[] freeBatches = new int[BATCHES];
+    private int freeCount = BATCHES;
+    private final int[] queue = new int[BATCHES];
+    private int queueHead = 0;
+    private int queued = 0;
+
+    private boolean running = true;
+    private RuntimeException failure = null;
+    private final Thread thread;
+
+    // Contadores (protegidos pelo monitor do limpador)
+    private long pagesWritten = 0;
+    private long batchesWritten = 0;
+
+    /**
+     * @param batchSize Máximo de páginas por lote.
+     */
+    public PageCleaner(SwapStore swap, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Lote inválido: " + batchSize);
+        }
+        this.swap = swap;
+        this.batchSize = batchSize;
+        this.batchPages = new PageStore[BATCHES];
+        this.batchSlots = new int[BATCHES][batchSize];
+        this.batchCount = new int[BATCHES];
+        for (int b = 0; b < BATCHES; b++) {
+            batchPages[b] = new PageStore(batchSize);
+            freeBatches[b] = b;
+        }
+        this.thread = new Thread(this::run, "page-cleaner");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return Um lote livre para a thread da simulação preencher, ou -1 se todos estão em uso
+     * (a rodada de limpeza é pulada; a simulação nunca espera pelo limpador aqui).
+     */
+    public synchronized int tryAcquire() {
+        checkFailure();
+        if (freeCount == 0) {
+            return -1;
+        }
+        int batch = freeBatches[--freeCount];
+        batchCount[batch] = 0;
+        return batch;
+    }
+
+    /**
+     * Copia o frame para o lote (chamado só pela thread da simulação, antes de submit).
+     * @return false se o lote já está cheio.
+     */
+    public boolean add(int batch, PageStore ram, int frame) {
+        int k = batchCount[batch];
+        if (k == batchSize) {
+            return false;
+        }
+        batchPages[batch].copyFrom(ram, frame, k);
+        batchSlots[batch][k] = ram.getN(frame);
+        batchCount[batch] = k + 1;
+        return true;
+    }
+
+    /**
+     * Entrega o lote para gravação (um lote vazio volta direto para os livres).
+     */
+    public synchronized void submit(int batch) {
+        if (batchCount[batch] == 0) {
+            freeBatches[freeCount++] = batch;
+            return;
+        }
+        queue[(queueHead + queued) % BATCHES] = batch;
+        queued++;
+        notifyAll();
+    }
+
+    /**
+     * Espera até que nenhum lote pendente contenha a posição 'slot' do SWAP.
+     */
+    public synchronized void awaitSlot(int slot) {
+        while (isPending(slot)) {
+            waitUninterruptibly();
+        }
+        checkFailure();
+    }
+
+    /**
+     * Espera todos os lotes entregues serem gravados.
+     */
+    public synchronized void drain() {
+        while (queued > 0 && failure == null) {
+            waitUninterruptibly();
+        }
+        checkFailure();
+    }
+
+    public synchronized long getPagesWritten() {
+        return pagesWritten;
+    }
+
+    public synchronized long getBatchesWritten() {
+        return batchesWritten;
+    }
+
+    /**
+     * Grava o que falta e encerra a thread.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            running = false;
+            notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            checkFailure();
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                int batch;
+                synchronized (this) {
+                    while (queued == 0 && running) {
+                        waitUninterruptibly();
+                    }
+                    if (queued == 0) {
+                        return; // Encerrado e sem lotes pendentes
+                    }
+                    batch = queue[queueHead];
+                }
+
+                // Grava fora do monitor do limpador: a simulação continua enquanto isso
+                PageStore pages = batchPages[batch];
+                int[] slots = batchSlots[batch];
+                int count = batchCount[batch];
+                for (int k = 0; k < count; k++) {
+                    synchronized (swap) {
+                        swap.writeBack(pages, k, slots[k]);
+                    }
+                }
+
+                synchronized (this) {
+                    queueHead = (queueHead + 1) % BATCHES;
+                    queued--;
+                    freeBatches[freeCount++] = batch;
+                    pagesWritten += count;
+                    batchesWritten++;
+                    notifyAll();
+                }
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                failure = e;
+                queued = 0;
+                notifyAll();
+            }
+        }
+    }
+
+    // Os lotes entregues somam no máximo BATCHES * batchSize posições
+    private boolean isPending(int slot) {
+        for (int q = 0; q < queued; q++) {
+            int batch = queue[(queueHead + q) % BATCHES];
+            int[] slots = batchSlots[batch];
+            for (int k = 0; k < batchCount[batch]; k++) {
+                if (slots[k] == slot) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void waitUninterruptibly() {
+        try {
+            wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido esperando o limpador de páginas", e);
+        }
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new IllegalStateException("Falha no limpador de páginas", failure);
+        }
+    }
+
+    /**
+     * Compara cada algoritmo sem e com o limpador, na mesma string de referências. A coluna
+     * "Escritas SWAP" soma os write-backs na falta e as páginas limpas fora dela: o limpador
+     * tira escritas do caminho da falta, mas grava de novo as páginas que voltam a ser sujas.
+     * Uso: PageCleaner [frames da RAM] [páginas do SWAP] [instruções] [semente] [fonte] [lote] [arquivo do SWAP]
+     * Cada configuração roda uma vez antes da medida, para a JIT não favorecer a segunda.
+     */
+    public static void main(String[] args) throws IOException {
+        int ramSize = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int swapSize = args.length > 1 ? Integer.parseInt(args[1]) : 4096;
+        int numInstructions = args.length > 2 ? Integer.parseInt(args[2]) : 1000000;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+        String spec = args.length > 4 ? args[4] : "zipf";
+        int batchSize = args.length > 5 ? Integer.parseInt(args[5]) : 32;
+
+        ReferenceSource source = PageReplacementSimulator.createSource(spec, swapSize, ramSize, ~seed);
+        ReferenceString references = new ReferenceString(
+                PageReplacementSimulator.readReferenceString(source, numInstructions), swapSize);
+        MappedSwapStore swapFile = args.length > 6 ? new MappedSwapStore(args[6], swapSize, 0) : null;
+
+        String[] algorithms = {"NRU", "FIFO", "FIFO-SC", "CLOCK", "LRU", "WS-CLOCK", "ARC", "CAR", "OPT"};
+        System.out.println("Limpador de páginas: lotes de " + batchSize + ", " + spec + ", " + numInstructions
+                + " instruções, " + ramSize + " frames" + (swapFile != null ? ", SWAP em " + args[6] : ""));
+        System.out.println("-------------------------------------------------------------------------------------------------------------");
+        System.out.println("| Algoritmo  | Limpador  | Page Faults | WB na falta | Limpas fora | Escritas SWAP | Falta média (ns) | Máx. (us) |");
+        System.out.println("-------------------------------------------------------------------------------------------------------------");
+        for (String algorithm : algorithms) {
+            for (int cleanerBatch : new int[]{0, batchSize}) {
+                PageReplacementSimulator simulator = new PageReplacementSimulator(ramSize, swapSize, numInstructions);
+                simulator.setVerbose(false);
+                simulator.setSeed(seed);
+                simulator.setReferenceString(references);
+                simulator.setPageCleaner(cleanerBatch);
+                simulator.setFaultTiming(true); // Também sem o limpador, para comparar
+                if (swapFile != null) {
+                    simulator.setSwapStore(swapFile);
+                }
+                simulator.runSimulation(algorithm); // Aquecimento
+                long faults = simulator.runSimulation(algorithm);
+                System.out.printf("| %-10s | %-9s | %11d | %11d | %11d | %13d | %16.1f | %9.1f |\n",
+                        algorithm, cleanerBatch > 0 ? "ligado" : "desligado", faults, simulator.getWriteBacks(),
+                        simulator.getCleanedPages(), simulator.getSwapWrites(), faults == 0 ? 0.0 : (double) simulator.getFaultNanos() / faults,
+                        simulator.getMaxFaultNanos() / 1e3);
+            }
+        }
+        System.out.println("-------------------------------------------------------------------------------------------------------------");
+        if (swapFile != null) {
+            swapFile.close();
+        }
+    }
+}
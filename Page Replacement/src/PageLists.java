@@ -0,0 +1,111 @@
+import java.util.Arrays;
+
+/**
+ * Várias listas duplamente encadeadas sobre os números de página (0 a n - 1), sem criar objetos.
+ * Cada página está em no máximo uma lista, então um único par de arrays prev/next serve para todas.
+ * A cabeça é a entrada mais antiga (LRU, ou a posição do ponteiro de um relógio) e a cauda a mais recente.
+ * Usada pelo ARC e pelo CAR para as listas residentes T1/T2 e as listas fantasma B1/B2.
+ */
+public class PageLists {
+    public static final int NONE = -1;
+
+    private final int[] prev;
+    private final int[] next;
+    private final int[] listOf; // Lista de cada página, ou NONE
+    private final int[] head;
+    private final int[] tail;
+    private final int[] size;
+
+    /**
+     * @param pages Quantidade de páginas (números 0 a pages - 1).
+     * @param lists Quantidade de listas (identificadas por 0 a lists - 1).
+     */
+    public PageLists(int pages, int lists) {
+        this.prev = new int[pages];
+        this.next = new int[pages];
+        this.listOf = new int[pages];
+        this.head = new int[lists];
+        this.tail = new int[lists];
+        this.size = new int[lists];
+        clear();
+    }
+
+    /**
+     * Esvazia todas as listas.
+     */
+    public void clear() {
+        Arrays.fill(listOf, NONE);
+        Arrays.fill(head, NONE);
+        Arrays.fill(tail, NONE);
+        Arrays.fill(size, 0);
+    }
+
+    /**
+     * @return A lista em que a página está, ou NONE.
+     */
+    public int listOf(int page) {
+        return listOf[page];
+    }
+
+    public int size(int list) {
+        return size[list];
+    }
+
+    /**
+     * @return A página na cabeça (mais antiga) da lista, ou NONE se estiver vazia.
+     */
+    public int head(int list) {
+        return head[list];
+    }
+
+    /**
+     * Põe a página na cauda da lista, tirando-a antes da lista em que estiver (O(1)).
+     */
+    public void addTail(int list, int page) {
+        remove(page);
+        prev[page] = tail[list];
+        next[page] = NONE;
+        if (tail[list] != NONE) {
+            next[tail[list]] = page;
+        } else {
+            head[list] = page;
+        }
+        tail[list] = page;
+        listOf[page] = list;
+        size[list]++;
+    }
+
+    /**
+     * Tira a página da lista em que estiver (sem efeito se não estiver em nenhuma).
+     */
+    public void remove(int page) {
+        int list = listOf[page];
+        if (list == NONE) {
+            return;
+        }
+        if (prev[page] != NONE) {
+            next[prev[page]] = next[page];
+        } else {
+            head[list] = next[page];
+        }
+        if (next[page] != NONE) {
+            prev[next[page]] = prev[page];
+        } else {
+            tail[list] = prev[page];
+        }
+        listOf[page] = NONE;
+        size[list]--;
+    }
+
+    /**
+     * Tira a página da cabeça da lista.
+     * @return A página retirada, ou NONE se a lista estiver vazia.
+     */
+    public int removeHead(int list) {
+        int page = head[list];
+        if (page != NONE) {
+            remove(page);
+        }
+        return page;
+    }
+}
@@ -1,65 +1,436 @@
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.Random;
-import java.util.Set;
-import java.util.HashSet;
 import java.util.Arrays;
-import java.util.Queue;
-import java.util.LinkedList;
 
 /**
  * Classe principal que executa a simulação dos algoritmos de substituição de páginas.
  */
 public class PageReplacementSimulator {
 
-    // Constantes da simulação
-    private static final int RAM_SIZE = 10;
-    private static final int SWAP_SIZE = 100;
-    private static final int NUM_INSTRUCTIONS = 1000;
-    private static final int RESET_R_INTERVAL = 10;
+    // Valores padrão da simulação (podem ser trocados pela linha de comando)
+    private static final int DEFAULT_RAM_SIZE = 10;
+    private static final int DEFAULT_SWAP_SIZE = 100;
+    private static final int DEFAULT_NUM_INSTRUCTIONS = 1000;
+    private static final int DEFAULT_RESET_R_INTERVAL = 10;
+    private static final int PRINT_LIMIT = 32; // Máximo de frames impressos por matriz
+    private static final int MAX_REFERENCE_STRING = 1 << 26; // Referências pré-lidas (com o índice do OPT: 512 MB)
 
-    // Matrizes de memória
-    private Page[] ram = new Page[RAM_SIZE];
-    private Page[] swap = new Page[SWAP_SIZE];
+    // Tamanhos desta simulação
+    private final int ramSize;
+    private final int swapSize;
+    private final long numInstructions;
+    private int resetRInterval = DEFAULT_RESET_R_INTERVAL; // Instruções entre as zeragens dos bits R (Obs4)
+    private boolean verbose = true; // Imprime as matrizes e as estatísticas de cada simulação
+
+    // Matrizes de memória: a RAM em colunas (ver PageStore) e o SWAP em memória ou num arquivo mapeado
+    private final PageStore ram;
+    private SwapStore swap; // Criado na primeira simulação se nenhum for definido (setSwapStore)
+
+    // Tabela de páginas invertida: número da página (N) -> frame da RAM, ou -1 se estiver só no SWAP.
+    // Mantida a cada falta/substituição, torna a detecção de hit O(1) para qualquer tamanho de RAM.
+    private final int[] frameOfPage;
 
     // Ferramentas e contadores
     private Random random = new Random();
-    private int pageFaults;
-    private int writeBacks; // Contagem de "salvamentos" em SWAP (Obs5)
+    private Long seed = null; // Se definida, cada simulação recomeça o Random com ela
+    private long pageFaults;
+    private long writeBacks; // Contagem de "salvamentos" em SWAP (Obs5)
 
     // Ponteiros para algoritmos
     private int fifoPointer = 0;
     private int clockPointer = 0;
 
-    // Estrutura auxiliar para o FIFO-SC (Fila explícita)
-    private Queue<Integer> fifoSCQueue = new LinkedList<>();
+    // Estrutura auxiliar para o FIFO-SC (Fila explícita de frames, em anel).
+    // A fila está sempre cheia (todo frame retirado volta para o fim), então retirar
+    // da frente e pôr no fim é só gravar na mesma posição e avançar a frente.
+    private final int[] fifoSCQueue;
+    private int fifoSCHead = 0;
 
-    // Estrutura auxiliar para o LRU
+    // Estrutura auxiliar para o LRU-TS (versão por timestamps, mantida para conferência)
     // Armazena o "tempo" (número da instrução) do último acesso
-    private long[] lruTimestamps = new long[RAM_SIZE];
+    private final long[] lruTimestamps;
+
+    // Estrutura auxiliar para o LRU: lista de recência intrusiva, duplamente encadeada
+    // pelos próprios índices dos frames (cabeça = mais recente, cauda = vítima).
+    // Hit e falta custam O(1) e não criam objetos.
+    private final int[] lruPrev;
+    private final int[] lruNext;
+    private int lruHead = -1;
+    private int lruTail = -1;
+
+    // Algoritmo da simulação em curso, resolvido uma vez por runSimulation (os tratamentos
+    // de acerto e de falta fazem switch no código, sem comparar strings a cada referência)
+    private static final int NRU = 0, FIFO = 1, FIFO_SC = 2, CLOCK = 3, LRU = 4, LRU_TS = 5,
+            WS_CLOCK = 6, ARC = 7, CAR = 8, OPT = 9;
+    private int algorithm = FIFO;
+
+    // Estruturas auxiliares para o ARC e o CAR, indexadas pelo número da página (N):
+    // T1/T2 guardam as páginas na RAM vistas uma vez / mais de uma vez, e B1/B2 são as
+    // listas fantasma (só o número das páginas removidas recentemente de T1/T2).
+    // Ocupam O(páginas do SWAP), então só são criadas quando o ARC ou o CAR rodam.
+    private static final int T1 = 0, T2 = 1, B1 = 2, B2 = 3;
+    private PageLists adaptiveLists = null;
+    private int adaptiveTarget = 0; // p: tamanho desejado para T1, ajustado pelos acertos em B1/B2
+
+    // String de referências pré-gerada, com o índice de próximo uso do OPT
+    // (null = instruções sorteadas durante a simulação)
+    private ReferenceString references = null;
+
+    // Fonte de referências lida durante a simulação (usada quando não há string pré-gerada)
+    private ReferenceSource referenceSource = null;
+
+    // Estrutura auxiliar para o OPT: frames ordenados pelo próximo uso da sua página
+    private final FrameHeap optHeap;
+
+    // Limpador de páginas em segundo plano (lote 0 = desligado), criado a cada simulação
+    private int cleanerBatchSize = 0;
+    private PageCleaner cleaner = null;
+    private int cleanerCursor = 0; // Próximo frame examinado pela limpeza (varredura circular)
+    private final long[] cleanedFrames; // Frames já entregues ao limpador desde o último page-in (1 bit por frame)
+    private long cleanedPages;
+
+    // Tempo gasto no tratamento das faltas (caminho crítico), medido só quando pedido
+    // (setFaultTiming) ou com o limpador ligado: são duas chamadas a nanoTime por falta
+    private boolean faultTiming = false;
+    private long faultNanos;
+    private long maxFaultNanos;
+
+    public PageReplacementSimulator() {
+        this(DEFAULT_RAM_SIZE, DEFAULT_SWAP_SIZE, DEFAULT_NUM_INSTRUCTIONS);
+    }
+
+    /**
+     * @param ramSize Quantidade de frames na RAM.
+     * @param swapSize Quantidade de páginas no SWAP (deve ser >= ramSize).
+     * @param numInstructions Instruções executadas em cada simulação.
+     */
+    public PageReplacementSimulator(int ramSize, int swapSize, long numInstructions) {
+        if (ramSize <= 0 || swapSize < ramSize) {
+            throw new IllegalArgumentException("Tamanhos inválidos: RAM = " + ramSize + ", SWAP = " + swapSize);
+        }
+        this.ramSize = ramSize;
+        this.swapSize = swapSize;
+        this.numInstructions = numInstructions;
+        this.ram = new PageStore(ramSize);
+        this.fifoSCQueue = new int[ramSize];
+        this.frameOfPage = new int[swapSize];
+        this.lruTimestamps = new long[ramSize];
+        this.cleanedFrames = new long[(ramSize + 63) >>> 6];
+        this.lruPrev = new int[ramSize];
+        this.lruNext = new int[ramSize];
+        this.optHeap = new FrameHeap(ramSize);
+    }
+
+    /**
+     * Fixa a semente: toda simulação passa a usar a mesma sequência de sorteios,
+     * o que permite comparar algoritmos (ex.: LRU e LRU-TS devem ter as mesmas faltas).
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Troca o armazenamento do SWAP (padrão: em memória). Ex.: um MappedSwapStore para
+     * SWAPs grandes e para medir a E/S de cada algoritmo.
+     */
+    public void setSwapStore(SwapStore swap) {
+        if (swap.size() != swapSize) {
+            throw new IllegalArgumentException("SWAP com " + swap.size() + " páginas para uma simulação de " + swapSize);
+        }
+        this.swap = swap;
+    }
+
+    /**
+     * Quantidade de instruções entre as zeragens dos bits R (Obs4). Padrão: 10.
+     */
+    public void setResetRInterval(int resetRInterval) {
+        if (resetRInterval <= 0) {
+            throw new IllegalArgumentException("Intervalo de zeragem inválido: " + resetRInterval);
+        }
+        this.resetRInterval = resetRInterval;
+    }
+
+    /**
+     * Liga ou desliga a impressão das matrizes e estatísticas (desligada nas varreduras).
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    /**
+     * Liga o limpador de páginas (ver PageCleaner) com lotes de até 'batchSize' páginas; 0 desliga.
+     */
+    public void setPageCleaner(int batchSize) {
+        if (batchSize < 0) {
+            throw new IllegalArgumentException("Lote inválido: " + batchSize);
+        }
+        this.cleanerBatchSize = batchSize;
+    }
+
+    /**
+     * Liga a medição do tempo de cada falta (getFaultNanos, getMaxFaultNanos) mesmo sem o limpador.
+     */
+    public void setFaultTiming(boolean faultTiming) {
+        this.faultTiming = faultTiming;
+    }
+
+    /**
+     * @return Páginas gravadas pelo limpador na última simulação (write-backs fora do caminho da falta).
+     */
+    public long getCleanedPages() {
+        return cleanedPages;
+    }
+
+    /**
+     * @return Todas as escritas em SWAP da última simulação: write-backs na falta mais as
+     *         páginas gravadas pelo limpador.
+     */
+    public long getSwapWrites() {
+        return writeBacks + cleanedPages;
+    }
+
+    /**
+     * @return Tempo total (ns) gasto tratando as faltas da última simulação (0 se não foi medido).
+     */
+    public long getFaultNanos() {
+        return faultNanos;
+    }
+
+    /**
+     * @return Maior tempo (ns) gasto numa única falta da última simulação (0 se não foi medido).
+     */
+    public long getMaxFaultNanos() {
+        return maxFaultNanos;
+    }
+
+    /**
+     * @return Page faults da última simulação.
+     */
+    public long getPageFaults() {
+        return pageFaults;
+    }
+
+    /**
+     * @return Write backs (escritas em SWAP) da última simulação.
+     */
+    public long getWriteBacks() {
+        return writeBacks;
+    }
+
+    /**
+     * Fixa a string de referências (instruções de 1 a swapSize): toda simulação passa a
+     * executar exatamente essas instruções, e o OPT pode ser usado como referência.
+     */
+    public void setReferenceString(int[] references) {
+        setReferenceString(new ReferenceString(references, swapSize));
+    }
+
+    /**
+     * Fixa uma string de referências já indexada (pode ser compartilhada entre simuladores).
+     */
+    public void setReferenceString(ReferenceString references) {
+        if (references.pages() > swapSize) {
+            throw new IllegalArgumentException("String de referências com " + references.pages()
+                    + " páginas para um SWAP de " + swapSize);
+        }
+        this.references = references;
+        this.referenceSource = null;
+    }
+
+    /**
+     * Faz as simulações lerem as referências da fonte, recomeçada no início de cada uma.
+     * Cada simulação executa numInstructions referências, ou menos se a fonte acabar antes.
+     * Sem string pré-gerada o OPT não fica disponível; em troca, a fonte pode ter qualquer tamanho.
+     */
+    public void setReferenceSource(ReferenceSource source) {
+        this.referenceSource = source;
+        this.references = null;
+    }
+
+    /**
+     * Lê até 'max' referências da fonte (desde o início) como uma string de instruções de 1 a N.
+     */
+    public static int[] readReferenceString(ReferenceSource source, int max) {
+        source.reset();
+        int[] references = new int[max];
+        int count = 0;
+        while (count < max && source.hasNext()) {
+            references[count++] = source.next() + 1;
+        }
+        return count == max ? references : Arrays.copyOf(references, count);
+    }
+
+    /**
+     * Cria uma fonte de referências a partir da sua descrição:
+     * uniform | zipf[:expoente] | scan | loop[:tamanho] | phases[:conjunto[:duração]] | trace:arquivo
+     */
+    public static ReferenceSource createSource(String spec, int swapSize, int ramSize, long seed) throws IOException {
+        if (spec.startsWith("trace:")) {
+            return new TraceFileSource(spec.substring("trace:".length()), swapSize);
+        }
+        String[] parts = spec.split(":");
+        switch (parts[0]) {
+            case "uniform":
+                return new UniformSource(swapSize, seed);
+            case "zipf":
+                return new ZipfSource(swapSize, parts.length > 1 ? Double.parseDouble(parts[1]) : 1.0, seed);
+            case "scan":
+                return new SequentialSource(0, swapSize);
+            case "loop":
+                // Padrão: um frame a mais que a RAM (o pior caso do LRU)
+                int loopLength = parts.length > 1 ? Integer.parseInt(parts[1]) : Math.min(swapSize, ramSize + 1);
+                if (loopLength > swapSize) {
+                    throw new IllegalArgumentException("Laço maior que o SWAP: " + loopLength);
+                }
+                return new SequentialSource(0, loopLength);
+            case "phases":
+                int workingSet = parts.length > 1 ? Integer.parseInt(parts[1]) : Math.max(1, ramSize / 2);
+                long phaseLength = parts.length > 2 ? Long.parseLong(parts[2]) : 1000;
+                return new PhaseSource(swapSize, workingSet, phaseLength, seed);
+            default:
+                throw new IllegalArgumentException("Fonte de referências desconhecida: " + spec);
+        }
+    }
+
+    /**
+     * Sorteia uma string de referências uniforme (instruções de 1 a swapSize).
+     */
+    public static int[] generateReferenceString(int length, int swapSize, Random random) {
+        int[] references = new int[length];
+        for (int i = 0; i < length; i++) {
+            references[i] = random.nextInt(swapSize) + 1;
+        }
+        return references;
+    }
 
     /**
      * Ponto de entrada principal.
+     * Uso: PageReplacementSimulator [frames da RAM] [páginas do SWAP] [instruções] [semente] [fonte]
+     *      [arquivo do SWAP] [lote de write-backs]
+     * A fonte segue createSource (padrão: uniform). Com um trace, instruções <= 0 lê o trace inteiro.
+     * Com um arquivo, o SWAP fica mapeado nele (MappedSwapStore) e a E/S de cada algoritmo é medida.
      */
-    public static void main(String[] args) {
-        PageReplacementSimulator simulator = new PageReplacementSimulator();
+    public static void main(String[] args) throws IOException {
+        int ramSize = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RAM_SIZE;
+        int swapSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SWAP_SIZE;
+        long numInstructions = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_NUM_INSTRUCTIONS;
+
+        // Com semente, a fonte usa uma semente derivada (não repete os sorteios da simulação)
+        long sourceSeed = args.length > 3 ? ~Long.parseLong(args[3]) : new Random().nextLong();
+        ReferenceSource source = createSource(args.length > 4 ? args[4] : "uniform", swapSize, ramSize, sourceSeed);
+        if (source instanceof TraceFileSource trace && numInstructions <= 0) {
+            numInstructions = trace.length();
+        }
+
+        PageReplacementSimulator simulator = new PageReplacementSimulator(ramSize, swapSize, numInstructions);
+        if (args.length > 3) {
+            simulator.setSeed(Long.parseLong(args[3]));
+        }
+        MappedSwapStore swapFile = null;
+        if (args.length > 5) {
+            int batchSize = args.length > 6 ? Integer.parseInt(args[6]) : 0;
+            swapFile = new MappedSwapStore(args[5], swapSize, batchSize);
+            simulator.setSwapStore(swapFile);
+        }
+
+        // Todos os algoritmos executam as mesmas referências. Se couberem na memória elas são
+        // pré-lidas numa string, o que permite rodar também o OPT; senão vêm da fonte a cada simulação.
+        boolean withOpt = numInstructions <= MAX_REFERENCE_STRING;
+        if (withOpt) {
+            simulator.setReferenceString(readReferenceString(source, (int) numInstructions));
+        } else {
+            simulator.setReferenceSource(source);
+            System.out.println("Instruções demais para pré-gerar a string de referências: OPT omitido.");
+        }
+
+        String[] algorithms = withOpt
+                ? new String[]{"NRU", "FIFO", "FIFO-SC", "CLOCK", "LRU", "LRU-TS", "WS-CLOCK", "ARC", "CAR", "OPT"}
+                : new String[]{"NRU", "FIFO", "FIFO-SC", "CLOCK", "LRU", "LRU-TS", "WS-CLOCK", "ARC", "CAR"};
 
-        String[] algorithms = {"NRU", "FIFO", "FIFO-SC", "CLOCK", "LRU", "WS-CLOCK"};
+        long[] faults = new long[algorithms.length];
+        long lruFaults = -1;
+        long lruTsFaults = -1;
+        for (int a = 0; a < algorithms.length; a++) {
+            faults[a] = simulator.runSimulation(algorithms[a]);
+            if (algorithms[a].equals("LRU")) {
+                lruFaults = faults[a];
+            } else if (algorithms[a].equals("LRU-TS")) {
+                lruTsFaults = faults[a];
+            }
+        }
+
+        if (withOpt) {
+            printOptGap(algorithms, faults, faults[algorithms.length - 1]);
+        }
 
-        for (String alg : algorithms) {
-            simulator.runSimulation(alg);
+        // Com a mesma semente, as duas implementações do LRU precisam concordar
+        if (args.length > 3) {
+            System.out.println("\nConferência LRU x LRU-TS: " + lruFaults + " x " + lruTsFaults + " page faults "
+                    + (lruFaults == lruTsFaults ? "(iguais)" : "(DIFERENTES!)"));
+        }
+
+        if (source instanceof Closeable closeable) {
+            closeable.close();
+        }
+        if (swapFile != null) {
+            swapFile.close();
         }
     }
 
     /**
-     * Executa uma simulação completa (1000 instruções) para um determinado algoritmo.
+     * Imprime quanto cada algoritmo ficou acima do ótimo na mesma string de referências.
      */
-    public void runSimulation(String algorithmName) {
-        System.out.println("\n=======================================================");
-        System.out.println("Iniciando Simulação para o Algoritmo: " + algorithmName);
-        System.out.println("=======================================================");
+    private static void printOptGap(String[] algorithms, long[] faults, long optFaults) {
+        System.out.println("\n--- Distância para o ótimo (OPT) ---");
+        System.out.println("--------------------------------------------");
+        System.out.println("| Algoritmo  | Page Faults  | Acima do OPT |");
+        System.out.println("--------------------------------------------");
+        for (int a = 0; a < algorithms.length; a++) {
+            double gap = optFaults == 0 ? 0.0 : 100.0 * (faults[a] - optFaults) / optFaults;
+            System.out.printf("| %-10s | %12d | %+11.2f%% |\n", algorithms[a], faults[a], gap);
+        }
+        System.out.println("--------------------------------------------");
+    }
+
+    /**
+     * Executa uma simulação completa para um determinado algoritmo: numInstructions
+     * instruções sorteadas ou lidas da fonte de referências ou, se houver, a string fixada.
+     * @return O total de page faults.
+     */
+    public long runSimulation(String algorithmName) {
+        algorithm = algorithmCode(algorithmName);
+        if (algorithm == OPT && references == null) {
+            throw new IllegalStateException("O OPT precisa de uma string de referências (setReferenceString)");
+        }
+
+        if (verbose) {
+            System.out.println("\n=======================================================");
+            System.out.println("Iniciando Simulação para o Algoritmo: " + algorithmName);
+            System.out.println("=======================================================");
+        }
 
         // 1. Inicializa memórias e contadores
+        if (swap == null) {
+            swap = new PageStore(swapSize); // SWAP em memória (padrão)
+        }
+        if (adaptiveLists == null && (algorithm == ARC || algorithm == CAR)) {
+            adaptiveLists = new PageLists(swapSize, 4);
+        }
+        if (seed != null) {
+            random = new Random(seed);
+        }
         initializeSwap();
         initializeRam();
+        swap.resetCounters(); // A E/S medida é só a da simulação
+        faultNanos = 0;
+        maxFaultNanos = 0;
+        cleanedPages = 0;
+        cleanerCursor = 0;
+        Arrays.fill(cleanedFrames, 0);
+        if (cleanerBatchSize > 0) {
+            cleaner = new PageCleaner(swap, cleanerBatchSize);
+        }
         pageFaults = 0;
         writeBacks = 0;
         fifoPointer = 0;
@@ -67,15 +438,27 @@ public class PageReplacementSimulator {
         Arrays.fill(lruTimestamps, 0);
 
         // 2. (Obs6) Imprime estado inicial
-        System.out.println("--- ESTADO INICIAL ---");
-        printMatrix(ram, "RAM (Memória Principal)");
-        // printMatrix(swap, "SWAP (Memória Secundária)"); // Descomente para ver o SWAP inicial
+        if (verbose) {
+            System.out.println("--- ESTADO INICIAL ---");
+            printMatrix(ram, "RAM (Memória Principal)");
+            // printMatrix(swap, "SWAP (Memória Secundária)"); // Descomente para ver o SWAP inicial
+        }
 
         // 3. Loop principal de simulação (Obs1)
-        for (int i = 1; i <= NUM_INSTRUCTIONS; i++) {
+        if (referenceSource != null) {
+            referenceSource.reset();
+        }
+        long limit = references != null ? references.length() : numInstructions;
+        boolean timeFaults = faultTiming || cleaner != null;
+        long totalInstructions = 0;
+        for (long i = 1; i <= limit; i++) {
 
-            // Sorteia a instrução (1 a 100)
-            int instruction = random.nextInt(100) + 1;
+            // Sorteia a instrução (1 a swapSize), ou lê da string/fonte de referências
+            int instruction = nextInstruction(i - 1);
+            if (instruction == -1) {
+                break; // Fim da fonte
+            }
+            totalInstructions = i;
 
             // Procura a página na RAM
             int ramIndex = findPageInRam(instruction);
@@ -85,73 +468,159 @@ public class PageReplacementSimulator {
                 handlePageHit(ramIndex, i);
             } else {
                 // --- PAGE FAULT ---
-                handlePageFault(instruction, algorithmName, i);
+                if (timeFaults) {
+                    long faultStart = System.nanoTime();
+                    handlePageFault(instruction, i);
+                    long faultTime = System.nanoTime() - faultStart;
+                    faultNanos += faultTime;
+                    maxFaultNanos = Math.max(maxFaultNanos, faultTime);
+                } else {
+                    handlePageFault(instruction, i);
+                }
             }
 
-            // (Obs4) A cada 10 instruções, zera os bits R
-            if (i % RESET_R_INTERVAL == 0) {
+            // (Obs4) A cada resetRInterval instruções (padrão 10), zera os bits R
+            if (i % resetRInterval == 0) {
+                if (cleaner != null) {
+                    handOffDirtyPages(i); // Antes de zerar: R=0 aqui = não usada no último intervalo
+                }
                 resetRBits();
             }
         }
 
         // 4. (Obs6) Imprime estado final e estatísticas
-        System.out.println("\n--- ESTADO FINAL (" + algorithmName + ") ---");
-        printMatrix(ram, "RAM (Memória Principal)");
-        // printMatrix(swap, "SWAP (Memória Secundária)"); // Descomente para ver o SWAP final
-        System.out.println("\nEstatísticas (" + algorithmName + "):");
-        System.out.println("Total de Instruções: " + NUM_INSTRUCTIONS);
-        System.out.println("Total de Page Faults: " + pageFaults);
-        System.out.println("Total de Write Backs (Escritas em SWAP): " + writeBacks);
+        if (cleaner != null) {
+            cleaner.close(); // Espera os lotes pendentes
+            cleanedPages = cleaner.getPagesWritten();
+            cleaner = null;
+        }
+        swap.flush();
+        if (verbose) {
+            System.out.println("\n--- ESTADO FINAL (" + algorithmName + ") ---");
+            printMatrix(ram, "RAM (Memória Principal)");
+            // printMatrix(swap, "SWAP (Memória Secundária)"); // Descomente para ver o SWAP final
+            System.out.println("\nEstatísticas (" + algorithmName + "):");
+            System.out.println("Total de Instruções: " + totalInstructions);
+            System.out.println("Total de Page Faults: " + pageFaults);
+            System.out.println("Total de Write Backs (Escritas em SWAP): " + writeBacks);
+            if (cleanerBatchSize > 0) {
+                System.out.println("Páginas gravadas pelo limpador (fora do caminho da falta): " + cleanedPages);
+                System.out.println("Total de escritas em SWAP (falta + limpador): " + getSwapWrites());
+            }
+            if (swap.measuresIo()) {
+                System.out.printf("E/S no SWAP: %d bytes lidos, %d bytes escritos em %d escritas sequenciais, %.3f ms\n",
+                        swap.getBytesRead(), swap.getBytesWritten(), swap.getWriteRuns(), swap.getIoNanos() / 1e6);
+            }
+        }
+        return pageFaults;
+    }
+
+    /**
+     * Próxima instrução (1 a swapSize) da simulação.
+     * @param position Posição da instrução (a partir de 0).
+     * @return A instrução, ou -1 se a fonte de referências acabou.
+     */
+    private int nextInstruction(long position) {
+        if (references != null) {
+            return references.instruction((int) position);
+        }
+        if (referenceSource != null) {
+            return referenceSource.hasNext() ? referenceSource.next() + 1 : -1;
+        }
+        return random.nextInt(swapSize) + 1;
     }
 
     /**
      * Preenche a matriz SWAP conforme as regras.
      */
     private void initializeSwap() {
-        for (int i = 0; i < SWAP_SIZE; i++) {
+        for (int i = 0; i < swapSize; i++) {
             int N = i;
             int I = i + 1;
             int D = random.nextInt(50) + 1;  // 1 a 50
             int R = 0;
             int M = 0;
             int T = random.nextInt(9900) + 100; // 100 a 9999
-            swap[i] = new Page(N, I, D, R, M, T);
+            swap.set(i, N, I, D, R, M, T);
         }
     }
 
     /**
-     * Preenche a matriz RAM com 10 páginas aleatórias e únicas do SWAP.
+     * Preenche a matriz RAM com ramSize páginas aleatórias e únicas do SWAP.
      */
     private void initializeRam() {
-        Set<Integer> selectedPages = new HashSet<>();
-        fifoSCQueue.clear(); // <-- 3. Limpar a fila a cada nova simulação
-        for (int i = 0; i < RAM_SIZE; i++) {
+        Arrays.fill(frameOfPage, -1);
+        fifoSCHead = 0; // <-- 3. Limpar a fila a cada nova simulação
+        if (adaptiveLists != null) {
+            adaptiveLists.clear();
+        }
+        adaptiveTarget = 0;
+        optHeap.clear();
+        for (int i = 0; i < ramSize; i++) {
             int pageN;
             // Garante que a página sorteada ainda não está na RAM
             do {
-                pageN = random.nextInt(SWAP_SIZE); // Sorteia N (0 a 99)
-            } while (selectedPages.contains(pageN));
+                pageN = random.nextInt(swapSize); // Sorteia N (0 a swapSize - 1)
+            } while (frameOfPage[pageN] != -1);
 
-            selectedPages.add(pageN);
-
-            // Copia a página do SWAP para a RAM (usando construtor de cópia)
-            ram[i] = new Page(swap[pageN]);
+            // Copia a página do SWAP para a RAM
+            pageIn(pageN, i);
+            frameOfPage[pageN] = i;
             lruTimestamps[i] = 0; // Inicializa o timestamp LRU
-            fifoSCQueue.add(i); // <-- 4. Adicionar o índice do frame na fila FIFO-SC
+            fifoSCQueue[i] = i; // <-- 4. Adicionar o índice do frame na fila FIFO-SC
+            if (adaptiveLists != null) {
+                adaptiveLists.addTail(T1, pageN); // ARC/CAR: páginas iniciais contam como vistas uma vez
+            }
+            if (references != null) {
+                optHeap.set(i, references.firstUse(pageN)); // OPT: primeiro uso da página na string
+            }
+        }
+        initializeLruList();
+    }
+
+    /**
+     * Monta a lista de recência inicial. Todas as páginas iniciais têm timestamp 0 e o
+     * LRU-TS desempata pelo menor frame, então o frame 0 fica na cauda (próxima vítima).
+     */
+    private void initializeLruList() {
+        for (int i = 0; i < ramSize; i++) {
+            lruNext[i] = i - 1;         // Em direção à cauda
+            lruPrev[i] = i + 1 < ramSize ? i + 1 : -1; // Em direção à cabeça
         }
+        lruHead = ramSize - 1;
+        lruTail = 0;
+    }
+
+    /**
+     * Move o frame para a cabeça da lista de recência (acesso mais recente), em O(1).
+     */
+    private void touchLru(int frame) {
+        if (frame == lruHead) {
+            return;
+        }
+        // Desliga o frame da posição atual
+        int prev = lruPrev[frame];
+        int next = lruNext[frame];
+        lruNext[prev] = next;
+        if (next != -1) {
+            lruPrev[next] = prev;
+        } else {
+            lruTail = prev;
+        }
+        // Religa na cabeça
+        lruPrev[frame] = -1;
+        lruNext[frame] = lruHead;
+        lruPrev[lruHead] = frame;
+        lruHead = frame;
     }
 
     /**
      * Procura uma página na RAM baseada no número da instrução (I).
-     * @return O índice na RAM (0-9) se encontrada, ou -1 se for page fault.
+     * Consulta a tabela invertida em O(1) (I = N + 1, então N = I - 1).
+     * @return O índice na RAM (0 a ramSize - 1) se encontrada, ou -1 se for page fault.
      */
     private int findPageInRam(int instruction) {
-        for (int i = 0; i < RAM_SIZE; i++) {
-            if (ram[i].I == instruction) {
-                return i; // Page Hit
-            }
-        }
-        return -1; // Page Fault
+        return frameOfPage[instruction - 1];
     }
 
     /**
@@ -159,96 +628,183 @@ public class PageReplacementSimulator {
      * @param ramIndex O índice da página na RAM.
      * @param instructionTime O número da instrução atual (usado pelo LRU).
      */
-    private void handlePageHit(int ramIndex, int instructionTime) {
+    private void handlePageHit(int ramIndex, long instructionTime) {
         // 1) Bit de acesso R = 1
-        ram[ramIndex].R = 1;
+        ram.setR(ramIndex, true);
 
-        // Atualiza o timestamp do LRU
+        // Atualiza o timestamp do LRU-TS e a lista do LRU
         lruTimestamps[ramIndex] = instructionTime;
+        touchLru(ramIndex);
+
+        switch (algorithm) {
+            case ARC:
+                // O ARC move a página para o MRU de T2 (o CAR só precisa do bit R)
+                adaptiveLists.addTail(T2, ram.getN(ramIndex));
+                break;
+            case OPT:
+                // O OPT passa a ordenar o frame pelo próximo uso da página
+                optHeap.set(ramIndex, references.nextUse((int) (instructionTime - 1)));
+                break;
+            default:
+                break;
+        }
 
         // 2) 50% de chance de modificação
         if (random.nextDouble() < 0.5) {
             // 2.1) D = D + 1
-            ram[ramIndex].D++;
+            ram.incrementD(ramIndex);
             // 2.2) M = 1
-            ram[ramIndex].M = 1;
+            ram.setM(ramIndex, true);
         }
     }
 
     /**
      * Ações a serem tomadas em um Page Fault.
      * @param instruction O número da instrução (I) que causou a falta.
-     * @param algorithmName O algoritmo de substituição a ser usado.
      * @param instructionTime O número da instrução atual (usado pelo LRU).
      */
-    private void handlePageFault(int instruction, String algorithmName, int instructionTime) {
+    private void handlePageFault(int instruction, long instructionTime) {
         pageFaults++;
 
         // 1. Encontra a página a ser removida (vítima)
-        int victimIndex = findVictim(algorithmName);
-        Page victimPage = ram[victimIndex];
+        int victimIndex = findVictim(instruction - 1);
 
         // 2. (Obs5) Verifica se a página vítima está "suja" (M=1)
-        if (victimPage.M == 1) {
+        if (ram.getM(victimIndex) == 1) {
             writeBacks++;
-            writePageToSwap(victimPage);
+            writePageToSwap(victimIndex);
         }
 
         // 3. Busca a nova página no SWAP
         // (Assumindo que I = N + 1, então N = I - 1)
-        Page newPage = findPageInSwap(instruction);
+        int swapIndex = findPageInSwap(instruction);
 
-        // 4. Coloca a nova página na RAM (usando construtor de cópia)
-        ram[victimIndex] = new Page(newPage);
+        // 4. Coloca a nova página na RAM (page-in, sem criar objetos)
+        // e atualiza a tabela invertida para as duas páginas
+        frameOfPage[ram.getN(victimIndex)] = -1;
+        pageIn(swapIndex, victimIndex);
+        frameOfPage[ram.getN(victimIndex)] = victimIndex;
+        cleanedFrames[victimIndex >>> 6] &= ~(1L << victimIndex); // Página nova: pode ser limpa de novo
 
-        // 5. Reseta o timestamp LRU para a nova página
+        // 5. Reseta o timestamp LRU-TS, põe a nova página na cabeça da lista do LRU
+        // e, no OPT, ordena o frame pelo próximo uso da nova página
         lruTimestamps[victimIndex] = instructionTime;
+        touchLru(victimIndex);
+        if (algorithm == OPT) {
+            optHeap.set(victimIndex, references.nextUse((int) (instructionTime - 1)));
+        }
     }
 
     /**
      * Salva os dados de uma página da RAM de volta para o SWAP (Obs5).
      */
-    private void writePageToSwap(Page victimPage) {
-        int swapIndex = victimPage.N; // O índice no SWAP é o número (N) da página
-        swap[swapIndex] = new Page(victimPage); // Copia os dados (N, I, D, R, M, T)
-        swap[swapIndex].M = 0; // Bit M é zerado no SWAP
+    private void writePageToSwap(int victimIndex) {
+        int swapIndex = ram.getN(victimIndex); // O índice no SWAP é o número (N) da página
+        pageOut(victimIndex, swapIndex); // Copia os dados (N, I, D, R, M, T), com M zerado no SWAP
+    }
+
+    /**
+     * Lê a página 'slot' do SWAP para o frame. Com o limpador ligado, espera as gravações
+     * pendentes da página e sincroniza com a thread dele.
+     */
+    private void pageIn(int slot, int frame) {
+        if (cleaner == null) {
+            swap.readInto(slot, ram, frame);
+            return;
+        }
+        cleaner.awaitSlot(slot);
+        synchronized (swap) {
+            swap.readInto(slot, ram, frame);
+        }
+    }
+
+    /**
+     * Grava o frame na posição 'slot' do SWAP (mesmos cuidados de pageIn).
+     */
+    private void pageOut(int frame, int slot) {
+        if (cleaner == null) {
+            swap.writeBack(ram, frame, slot);
+            return;
+        }
+        cleaner.awaitSlot(slot);
+        synchronized (swap) {
+            swap.writeBack(ram, frame, slot);
+        }
+    }
+
+    /**
+     * Entrega ao limpador um lote de frames sujos e não usados recentemente (M=1, R=0),
+     * seguindo uma varredura circular. O bit M desses frames é zerado na hora: se forem
+     * escolhidos como vítima, não precisam mais de write-back no caminho da falta.
+     * Limpar uma página que volta a ser modificada antes de sair da RAM é uma escrita a mais
+     * no SWAP, então só entram frames sem acesso há pelo menos ramSize instruções e no máximo
+     * uma vez por page-in (a página limpa e de novo suja já mostrou que ainda está em uso).
+     * @param now Número da instrução atual.
+     */
+    private void handOffDirtyPages(long now) {
+        int batch = cleaner.tryAcquire();
+        if (batch == -1) {
+            return; // Limpador ocupado: tenta na próxima zeragem
+        }
+        int scanned = 0;
+        int frame = cleanerCursor;
+        while (scanned < ramSize) {
+            int next = ram.nextWithBits(frame, 0, 1);
+            if (next == -1) {
+                scanned += ramSize - frame; // Fim da RAM: volta ao frame 0
+                frame = 0;
+                continue;
+            }
+            scanned += next - frame + 1;
+            if (scanned > ramSize) {
+                break; // Já deu a volta completa
+            }
+            frame = next + 1 == ramSize ? 0 : next + 1;
+            if ((cleanedFrames[next >>> 6] & (1L << next)) != 0 || now - lruTimestamps[next] < ramSize) {
+                continue; // Já limpo nesta estadia ou usado há pouco
+            }
+            if (!cleaner.add(batch, ram, next)) {
+                frame = next;
+                break; // Lote cheio
+            }
+            ram.setM(next, false);
+            cleanedFrames[next >>> 6] |= 1L << next;
+        }
+        cleanerCursor = frame;
+        cleaner.submit(batch);
     }
 
     /**
      * Encontra uma página no SWAP pelo seu número de instrução (I).
+     * @return O índice da página no SWAP.
      */
-    private Page findPageInSwap(int instruction) {
+    private int findPageInSwap(int instruction) {
         // Mapeamento direto: Instrução 1 é N=0, Instrução 100 é N=99
-        int swapIndex = instruction - 1;
-        return swap[swapIndex];
+        return instruction - 1;
     }
 
     /**
-     * (Obs4) Zera todos os bits R na RAM.
+     * (Obs4) Zera todos os bits R na RAM (64 frames por palavra).
      */
     private void resetRBits() {
-        for (int i = 0; i < RAM_SIZE; i++) {
-            ram[i].R = 0;
-        }
+        ram.clearAllR();
     }
 
     /**
      * Imprime o conteúdo de uma matriz (RAM ou SWAP) de forma formatada.
      */
-    private void printMatrix(Page[] matrix, String name) {
+    private void printMatrix(PageStore matrix, String name) {
         System.out.println("--- " + name + " ---");
         System.out.println("-------------------------------------------------------------");
         System.out.println("| Frame | N:    | I:     | D:    | R:   | M:   | T:      |");
         System.out.println("-------------------------------------------------------------");
-        for (int i = 0; i < matrix.length; i++) {
-            // No caso da RAM (matrix.length == 10)
-            if (matrix.length == RAM_SIZE) {
-                System.out.printf("| %-5d %s\n", i, matrix[i].toString());
-            }
-            // (Opcional) Para imprimir o SWAP
-            // else {
-            //     System.out.printf("| %-5d %s\n", i, matrix[i].toString());
-            // }
+        // Em configurações grandes, só os primeiros PRINT_LIMIT frames são impressos
+        int printed = Math.min(matrix.size(), PRINT_LIMIT);
+        for (int i = 0; i < printed; i++) {
+            System.out.printf("| %-5d %s\n", i, matrix.toPage(i).toString());
+        }
+        if (printed < matrix.size()) {
+            System.out.println("| ... (" + (matrix.size() - printed) + " frames omitidos)");
         }
         System.out.println("-------------------------------------------------------------");
     }
@@ -256,24 +812,59 @@ public class PageReplacementSimulator {
     // --- SEÇÃO DOS ALGORITMOS DE SUBSTITUIÇÃO ---
 
     /**
-     * Chama o algoritmo de seleção de vítima apropriado.
+     * Traduz o nome do algoritmo no código usado durante a simulação.
+     * Caso padrão: FIFO se o nome for inválido.
      */
-    private int findVictim(String algorithm) {
-        switch (algorithm) {
+    private static int algorithmCode(String algorithmName) {
+        switch (algorithmName) {
             case "NRU":
-                return findVictimNRU();
-            case "FIFO":
-                return findVictimFIFO();
+                return NRU;
             case "FIFO-SC":
-                return findVictimFIFOSC();
+                return FIFO_SC;
             case "CLOCK":
-                return findVictimClock();
+                return CLOCK;
             case "LRU":
-                return findVictimLRU();
+                return LRU;
+            case "LRU-TS":
+                return LRU_TS;
             case "WS-CLOCK":
+                return WS_CLOCK;
+            case "ARC":
+                return ARC;
+            case "CAR":
+                return CAR;
+            case "OPT":
+                return OPT;
+            default:
+                return FIFO;
+        }
+    }
+
+    /**
+     * Chama o algoritmo de seleção de vítima da simulação em curso.
+     * @param newPage Número (N) da página que vai entrar na RAM (usado pelo ARC e pelo CAR).
+     */
+    private int findVictim(int newPage) {
+        switch (algorithm) {
+            case NRU:
+                return findVictimNRU();
+            case FIFO_SC:
+                return findVictimFIFOSC();
+            case CLOCK:
+                return findVictimClock();
+            case LRU:
+                return findVictimLRU();
+            case LRU_TS:
+                return findVictimLRUTimestamps();
+            case WS_CLOCK:
                 return findVictimWSClock();
+            case ARC:
+                return findVictimARC(newPage);
+            case CAR:
+                return findVictimCAR(newPage);
+            case OPT:
+                return findVictimOPT();
             default:
-                // Caso padrão: usa FIFO se o nome for inválido
                 return findVictimFIFO();
         }
     }
@@ -285,26 +876,16 @@ public class PageReplacementSimulator {
      * Classe 1: (0, 1)
      * Classe 2: (1, 0)
      * Classe 3: (1, 1)
+     * Cada classe é procurada nas palavras de bits R/M, 64 frames por vez.
      */
     private int findVictimNRU() {
-        int class0 = -1, class1 = -1, class2 = -1;
-
-        // Procura pela primeira ocorrência de cada classe
-        for (int i = 0; i < RAM_SIZE; i++) {
-            Page p = ram[i];
-            if (p.R == 0 && p.M == 0) {
-                return i; // Classe 0 (ideal)
-            }
-            if (p.R == 0 && p.M == 1 && class1 == -1) {
-                class1 = i; // Classe 1
-            }
-            if (p.R == 1 && p.M == 0 && class2 == -1) {
-                class2 = i; // Classe 2
-            }
-        }
+        int class0 = ram.firstWithBits(0, 0);
+        if (class0 != -1) return class0; // Classe 0 (ideal)
 
         // Retorna a melhor classe encontrada (na ordem 1, 2, 3)
+        int class1 = ram.firstWithBits(0, 1);
         if (class1 != -1) return class1;
+        int class2 = ram.firstWithBits(1, 0);
         if (class2 != -1) return class2;
 
         // Se só restam páginas (1, 1) ou não achou as outras,
@@ -317,7 +898,7 @@ public class PageReplacementSimulator {
      */
     private int findVictimFIFO() {
         int victimIndex = fifoPointer;
-        fifoPointer = (fifoPointer + 1) % RAM_SIZE; // Avança o ponteiro
+        fifoPointer = (fifoPointer + 1) % ramSize; // Avança o ponteiro
         return victimIndex;
     }
 
@@ -330,20 +911,20 @@ public class PageReplacementSimulator {
     private int findVictimFIFOSC() {
         while (true) {
             // 1. Pega o frame mais antigo (frente da fila)
-            int victimIndex = fifoSCQueue.poll(); // Remove da frente
-            Page p = ram[victimIndex];
+            int victimIndex = fifoSCQueue[fifoSCHead]; // Remove da frente
+            // Com a fila cheia, o fim da fila é a posição que acabou de ser liberada:
+            // o frame fica nela e a frente avança (vale para os dois casos abaixo)
+            fifoSCHead = (fifoSCHead + 1) % ramSize;
 
-            if (p.R == 0) {
+            if (ram.getR(victimIndex) == 0) {
                 // 2. Vítima encontrada (R=0).
-                // O slot (victimIndex) será reusado, então o adicionamos
-                // de volta ao fim da fila para a nova página.
-                fifoSCQueue.add(victimIndex); // Adiciona no fim
+                // O slot (victimIndex) será reusado, então ele volta
+                // ao fim da fila para a nova página.
                 return victimIndex;
             } else {
                 // 3. Segunda chance (R=1).
-                p.R = 0; // Zera o bit R
-                // Move o frame para o fim da fila (dá a segunda chance)
-                fifoSCQueue.add(victimIndex); // Adiciona no fim
+                ram.setR(victimIndex, false); // Zera o bit R
+                // O frame foi para o fim da fila (dá a segunda chance)
             }
         }
     }
@@ -353,29 +934,36 @@ public class PageReplacementSimulator {
      */
     private int findVictimClock() {
         while (true) {
-            Page p = ram[clockPointer];
-            if (p.R == 0) {
+            if (ram.getR(clockPointer) == 0) {
                 // Vítima encontrada (R=0)
                 int victimIndex = clockPointer;
-                clockPointer = (clockPointer + 1) % RAM_SIZE;
+                clockPointer = (clockPointer + 1) % ramSize;
                 return victimIndex;
             } else {
                 // Segunda chance (R=1)
-                p.R = 0; // Zera o bit R
-                clockPointer = (clockPointer + 1) % RAM_SIZE; // Avança o ponteiro
+                ram.setR(clockPointer, false); // Zera o bit R
+                clockPointer = (clockPointer + 1) % ramSize; // Avança o ponteiro
             }
         }
     }
 
     /**
      * Algoritmo LRU (Least Recently Used).
-     * Usa o array auxiliar lruTimestamps.
+     * A vítima é a cauda da lista de recência: O(1) por falta.
      */
     private int findVictimLRU() {
+        return lruTail;
+    }
+
+    /**
+     * Algoritmo LRU-TS: LRU pela busca do menor timestamp, O(frames) por falta.
+     * Mantido para conferir as faltas do LRU com lista.
+     */
+    private int findVictimLRUTimestamps() {
         long minTime = Long.MAX_VALUE;
         int victimIndex = 0;
 
-        for (int i = 0; i < RAM_SIZE; i++) {
+        for (int i = 0; i < ramSize; i++) {
             if (lruTimestamps[i] < minTime) {
                 minTime = lruTimestamps[i];
                 victimIndex = i;
@@ -389,30 +977,164 @@ public class PageReplacementSimulator {
      */
     private int findVictimWSClock() {
         while (true) {
-            Page p = ram[clockPointer];
-
-            if (p.R == 0) {
+            if (ram.getR(clockPointer) == 0) {
                 // R=0. Verifica o conjunto de trabalho (T)
 
                 // (Obs3) Sorteia EP (Envelhecimento da Página)
                 int EP = random.nextInt(9900) + 100; // 100 a 9999
 
-                if (EP > p.T) {
+                if (EP > ram.getT(clockPointer)) {
                     // (Obs3) EP > T -> Página não está no conjunto de trabalho.
                     // Esta é a vítima.
                     int victimIndex = clockPointer;
-                    clockPointer = (clockPointer + 1) % RAM_SIZE;
+                    clockPointer = (clockPointer + 1) % ramSize;
                     return victimIndex;
                 }
-                // else (EP <= p.T): R=0, mas ainda está no WS. Não substituir.
+                // else (EP <= T): R=0, mas ainda está no WS. Não substituir.
 
             } else {
                 // R=1. Página foi usada recentemente.
-                p.R = 0; // Zera o bit R e continua
+                ram.setR(clockPointer, false); // Zera o bit R e continua
             }
 
             // Avança o ponteiro do relógio
-            clockPointer = (clockPointer + 1) % RAM_SIZE;
+            clockPointer = (clockPointer + 1) % ramSize;
+        }
+    }
+
+    /**
+     * Algoritmo OPT (Belady), só com a string de referências conhecida de antemão.
+     * A vítima é a página cujo próximo uso está mais longe (ou que não volta a ser usada):
+     * o topo do heap de próximos usos, mantido a cada acesso em O(log frames).
+     * Dá o menor número possível de faltas, servindo de base para os outros algoritmos.
+     */
+    private int findVictimOPT() {
+        return optHeap.top();
+    }
+
+    /**
+     * Algoritmo ARC (Adaptive Replacement Cache).
+     * Divide a RAM entre T1 (páginas vistas uma vez) e T2 (vistas mais de uma vez), com
+     * o tamanho desejado de T1 (p) ajustado pelos acertos nas listas fantasma: um acerto
+     * em B1 mostra que T1 devia ser maior, um acerto em B2 que T2 devia ser maior.
+     * Assim uma varredura só passa por T1 e não expulsa as páginas quentes de T2.
+     * Já deixa a nova página na lista certa; tudo em O(1) por falta.
+     */
+    private int findVictimARC(int newPage) {
+        int list = adaptiveLists.listOf(newPage);
+        int victimPage;
+
+        if (list == B1) {
+            // Acerto fantasma em B1: aumenta p e a página vai para T2
+            adaptiveTarget = Math.min(ramSize,
+                    adaptiveTarget + Math.max(adaptiveLists.size(B2) / adaptiveLists.size(B1), 1));
+            victimPage = replaceARC(false);
+            adaptiveLists.addTail(T2, newPage);
+        } else if (list == B2) {
+            // Acerto fantasma em B2: diminui p e a página vai para T2
+            adaptiveTarget = Math.max(0,
+                    adaptiveTarget - Math.max(adaptiveLists.size(B1) / adaptiveLists.size(B2), 1));
+            victimPage = replaceARC(true);
+            adaptiveLists.addTail(T2, newPage);
+        } else {
+            // Página desconhecida: mantém |T1| + |B1| <= ramSize e o total <= 2 * ramSize
+            int t1 = adaptiveLists.size(T1);
+            int b1 = adaptiveLists.size(B1);
+            if (t1 + b1 == ramSize) {
+                if (t1 < ramSize) {
+                    adaptiveLists.removeHead(B1);
+                    victimPage = replaceARC(false);
+                } else {
+                    // B1 vazia: a vítima é o LRU de T1, que sai sem virar fantasma
+                    victimPage = adaptiveLists.removeHead(T1);
+                }
+            } else {
+                if (t1 + b1 + adaptiveLists.size(T2) + adaptiveLists.size(B2) == 2 * ramSize) {
+                    adaptiveLists.removeHead(B2);
+                }
+                victimPage = replaceARC(false);
+            }
+            adaptiveLists.addTail(T1, newPage);
+        }
+        return frameOfPage[victimPage];
+    }
+
+    /**
+     * Escolhe a vítima do ARC: o LRU de T1 se T1 passou do tamanho desejado, senão o LRU de T2.
+     * A vítima vai para o MRU da lista fantasma correspondente.
+     * @param hitInB2 Se a página que entra estava em B2 (desempate quando |T1| = p).
+     * @return O número (N) da página removida.
+     */
+    private int replaceARC(boolean hitInB2) {
+        int t1 = adaptiveLists.size(T1);
+        if (t1 >= 1 && (t1 > adaptiveTarget || (hitInB2 && t1 == adaptiveTarget) || adaptiveLists.size(T2) == 0)) {
+            int page = adaptiveLists.head(T1);
+            adaptiveLists.addTail(B1, page);
+            return page;
+        }
+        int page = adaptiveLists.head(T2);
+        adaptiveLists.addTail(B2, page);
+        return page;
+    }
+
+    /**
+     * Algoritmo CAR (Clock with Adaptive Replacement).
+     * Mesma adaptação do ARC, mas T1 e T2 são relógios (cabeça da lista = ponteiro) e um
+     * acerto só liga o bit R, como no CLOCK. A página com R=1 sob o ponteiro de T1 ganha
+     * segunda chance indo para T2; a de T2 volta para o fim do próprio relógio.
+     */
+    private int findVictimCAR(int newPage) {
+        int list = adaptiveLists.listOf(newPage);
+        int victimPage = replaceCAR();
+
+        if (list == B1) {
+            adaptiveTarget = Math.min(ramSize,
+                    adaptiveTarget + Math.max(1, adaptiveLists.size(B2) / adaptiveLists.size(B1)));
+            adaptiveLists.addTail(T2, newPage);
+        } else if (list == B2) {
+            adaptiveTarget = Math.max(0,
+                    adaptiveTarget - Math.max(1, adaptiveLists.size(B1) / adaptiveLists.size(B2)));
+            adaptiveLists.addTail(T2, newPage);
+        } else {
+            // Página desconhecida: descarta o fantasma mais antigo para manter os limites
+            int t1 = adaptiveLists.size(T1);
+            int b1 = adaptiveLists.size(B1);
+            if (t1 + b1 == ramSize) {
+                adaptiveLists.removeHead(B1);
+            } else if (t1 + b1 + adaptiveLists.size(T2) + adaptiveLists.size(B2) == 2 * ramSize) {
+                adaptiveLists.removeHead(B2);
+            }
+            adaptiveLists.addTail(T1, newPage);
+        }
+        return frameOfPage[victimPage];
+    }
+
+    /**
+     * Gira os relógios do CAR até achar uma página com R=0, que vai para a lista fantasma.
+     * @return O número (N) da página removida.
+     */
+    private int replaceCAR() {
+        while (true) {
+            if (adaptiveLists.size(T1) >= Math.max(1, adaptiveTarget)) {
+                int page = adaptiveLists.head(T1);
+                int frame = frameOfPage[page];
+                if (ram.getR(frame) == 0) {
+                    adaptiveLists.addTail(B1, page);
+                    return page;
+                }
+                // Segunda chance: zera R e a página passa para T2
+                ram.setR(frame, false);
+                adaptiveLists.addTail(T2, page);
+            } else {
+                int page = adaptiveLists.head(T2);
+                int frame = frameOfPage[page];
+                if (ram.getR(frame) == 0) {
+                    adaptiveLists.addTail(B2, page);
+                    return page;
+                }
+                ram.setR(frame, false);
+                adaptiveLists.addTail(T2, page); // Avança o ponteiro de T2
+            }
         }
     }
 }
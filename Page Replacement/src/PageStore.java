@@ -0,0 +1,160 @@
+import java.util.Arrays;
+
+/**
+ * Armazena um conjunto de páginas (a RAM ou o SWAP) em colunas: um array por campo
+ * em vez de um objeto Page por posição (struct-of-arrays).
+ * N, I, D e T ficam em int[]; os bits R e M ficam compactados em long[], 64 por palavra.
+ * Carregar ou salvar uma página é uma cópia de colunas, sem criar objetos, e zerar
+ * todos os bits R limpa palavras inteiras.
+ * Também serve de SWAP em memória (o padrão do simulador).
+ */
+public class PageStore implements SwapStore {
+    private final int size;
+    private final int[] n; // Número da Página
+    private final int[] i; // Instrução
+    private final int[] d; // Dado
+    private final int[] t; // Tempo de Envelhecimento
+    private final long[] r; // Bits de Acesso (Referência)
+    private final long[] m; // Bits de Modificação (Dirty)
+
+    public PageStore(int size) {
+        this.size = size;
+        this.n = new int[size];
+        this.i = new int[size];
+        this.d = new int[size];
+        this.t = new int[size];
+        this.r = new long[(size + 63) >>> 6];
+        this.m = new long[(size + 63) >>> 6];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Preenche todos os campos de uma posição.
+     */
+    @Override
+    public void set(int slot, int N, int I, int D, int R, int M, int T) {
+        n[slot] = N;
+        i[slot] = I;
+        d[slot] = D;
+        t[slot] = T;
+        setR(slot, R == 1);
+        setM(slot, M == 1);
+    }
+
+    /**
+     * Copia a página da posição 'from' de 'source' para a posição 'slot' (equivale ao
+     * construtor de cópia de Page, sem criar objeto).
+     */
+    public void copyFrom(PageStore source, int from, int slot) {
+        n[slot] = source.n[from];
+        i[slot] = source.i[from];
+        d[slot] = source.d[from];
+        t[slot] = source.t[from];
+        setR(slot, source.getR(from) == 1);
+        setM(slot, source.getM(from) == 1);
+    }
+
+    @Override
+    public void readInto(int slot, PageStore ram, int frame) {
+        ram.copyFrom(this, slot, frame);
+    }
+
+    @Override
+    public void writeBack(PageStore ram, int frame, int slot) {
+        copyFrom(ram, frame, slot);
+        setM(slot, false);
+    }
+
+    public int getN(int slot) {
+        return n[slot];
+    }
+
+    public int getI(int slot) {
+        return i[slot];
+    }
+
+    public int getD(int slot) {
+        return d[slot];
+    }
+
+    public int getT(int slot) {
+        return t[slot];
+    }
+
+    public int getR(int slot) {
+        return (int) (r[slot >>> 6] >>> slot) & 1;
+    }
+
+    public int getM(int slot) {
+        return (int) (m[slot >>> 6] >>> slot) & 1;
+    }
+
+    public void incrementD(int slot) {
+        d[slot]++;
+    }
+
+    public void setR(int slot, boolean value) {
+        if (value) {
+            r[slot >>> 6] |= 1L << slot;
+        } else {
+            r[slot >>> 6] &= ~(1L << slot);
+        }
+    }
+
+    public void setM(int slot, boolean value) {
+        if (value) {
+            m[slot >>> 6] |= 1L << slot;
+        } else {
+            m[slot >>> 6] &= ~(1L << slot);
+        }
+    }
+
+    /**
+     * Zera o bit R de todas as páginas, 64 por vez.
+     */
+    public void clearAllR() {
+        Arrays.fill(r, 0L);
+    }
+
+    /**
+     * Primeira posição com os bits (R, M) pedidos, ou -1 se não houver.
+     * Testa 64 posições por palavra (usado pelo NRU para achar cada classe).
+     */
+    public int firstWithBits(int wantR, int wantM) {
+        return nextWithBits(0, wantR, wantM);
+    }
+
+    /**
+     * Primeira posição >= from com os bits (R, M) pedidos, ou -1 se não houver.
+     */
+    public int nextWithBits(int from, int wantR, int wantM) {
+        if (from >= size) {
+            return -1;
+        }
+        int w = from >>> 6;
+        long bits = bitsMatching(w, wantR, wantM) & (-1L << from);
+        while (bits == 0) {
+            if (++w == r.length) {
+                return -1;
+            }
+            bits = bitsMatching(w, wantR, wantM);
+        }
+        int slot = (w << 6) + Long.numberOfTrailingZeros(bits);
+        return slot < size ? slot : -1; // Os bits além da última posição não contam
+    }
+
+    private long bitsMatching(int w, int wantR, int wantM) {
+        return (wantR == 1 ? r[w] : ~r[w]) & (wantM == 1 ? m[w] : ~m[w]);
+    }
+
+    /**
+     * Cópia da página em um objeto Page (só para impressão).
+     */
+    public Page toPage(int slot) {
+        return new Page(n[slot], i[slot], d[slot], getR(slot), getM(slot), t[slot]);
+    }
+}
@@ -0,0 +1,195 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Varredura de parâmetros: algoritmo x frames x intervalo de zeragem dos bits R x semente.
+ * Cada semente gera uma única string de referências (com o índice do OPT), compartilhada só
+ * para leitura por todas as células dessa semente; cada célula roda num simulador próprio.
+ * As células rodam em paralelo num ForkJoinPool e o resultado de cada combinação é a média
+ * entre as sementes, impressa numa única tabela.
+ */
+public class ParameterSweep {
+    private final int swapSize;
+    private final int numInstructions;
+    private final String sourceSpec;
+
+    /**
+     * @param sourceSpec Fonte das referências (ver PageReplacementSimulator.createSource).
+     *                   Tamanhos padrão que dependem da RAM usam a menor quantidade de frames.
+     */
+    public ParameterSweep(int swapSize, int numInstructions, String sourceSpec) {
+        this.swapSize = swapSize;
+        this.numInstructions = numInstructions;
+        this.sourceSpec = sourceSpec;
+    }
+
+    /**
+     * Resultado de uma célula da varredura.
+     */
+    static class CellResult {
+        final String algorithm;
+        final int frames;
+        final int resetInterval;
+        final long seed;
+        final long instructions;
+        final long faults;
+        final long writeBacks;
+
+        CellResult(String algorithm, int frames, int resetInterval, long seed,
+                   long instructions, long faults, long writeBacks) {
+            this.algorithm = algorithm;
+            this.frames = frames;
+            this.resetInterval = resetInterval;
+            this.seed = seed;
+            this.instructions = instructions;
+            this.faults = faults;
+            this.writeBacks = writeBacks;
+        }
+    }
+
+    /**
+     * String de referências de uma semente (a fonte usa ~seed, como o simulador na linha de comando).
+     */
+    public ReferenceString generate(long seed, int ramSize) throws IOException {
+        ReferenceSource source = PageReplacementSimulator.createSource(sourceSpec, swapSize, ramSize, ~seed);
+        try {
+            return new ReferenceString(PageReplacementSimulator.readReferenceString(source, numInstructions), swapSize);
+        } finally {
+            if (source instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Executa uma célula num simulador novo (estado isolado das outras células).
+     */
+    public CellResult runCell(ReferenceString references, String algorithm, int frames, int resetInterval, long seed) {
+        PageReplacementSimulator simulator = new PageReplacementSimulator(frames, swapSize, references.length());
+        simulator.setVerbose(false);
+        simulator.setSeed(seed);
+        simulator.setResetRInterval(resetInterval);
+        simulator.setReferenceString(references);
+        simulator.runSimulation(algorithm);
+        return new CellResult(algorithm, frames, resetInterval, seed,
+                references.length(), simulator.getPageFaults(), simulator.getWriteBacks());
+    }
+
+    /**
+     * Roda todas as combinações para as sementes baseSeed, baseSeed + 1, ...
+     * @return Os resultados na ordem semente, frames, intervalo, algoritmo.
+     */
+    public List<CellResult> run(String[] algorithms, int[] frames, int[] resetIntervals, int seeds, long baseSeed,
+                                int parallelism) throws InterruptedException {
+        int minFrames = Integer.MAX_VALUE;
+        for (int f : frames) {
+            if (f <= 0 || f > swapSize) {
+                throw new IllegalArgumentException("Quantidade de frames inválida para um SWAP de " + swapSize + ": " + f);
+            }
+            minFrames = Math.min(minFrames, f);
+        }
+        int ramForSource = minFrames;
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // As strings também são geradas em paralelo; cada uma é compartilhada (só leitura)
+            List<Future<ReferenceString>> strings = new ArrayList<>();
+            for (int s = 0; s < seeds; s++) {
+                long seed = baseSeed + s;
+                strings.add(pool.submit(() -> generate(seed, ramForSource)));
+            }
+
+            List<Callable<CellResult>> tasks = new ArrayList<>();
+            for (int s = 0; s < seeds; s++) {
+                Future<ReferenceString> references = strings.get(s);
+                long seed = baseSeed + s;
+                for (int f : frames) {
+                    for (int interval : resetIntervals) {
+                        for (String algorithm : algorithms) {
+                            tasks.add(() -> runCell(references.get(), algorithm, f, interval, seed));
+                        }
+                    }
+                }
+            }
+
+            List<CellResult> results = new ArrayList<>(tasks.size());
+            for (Future<CellResult> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha em uma célula da varredura", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Imprime a média entre as sementes de cada combinação (frames, intervalo, algoritmo).
+     */
+    public static void printTable(String[] algorithms, int[] frames, int[] resetIntervals, int seeds,
+                                  List<CellResult> results) {
+        int combinations = frames.length * resetIntervals.length * algorithms.length;
+        System.out.println("-----------------------------------------------------------------------------");
+        System.out.println("| Frames | Zerar R | Algoritmo  |  Page Faults | Faltas (%) |   Write Backs |");
+        System.out.println("-----------------------------------------------------------------------------");
+        for (int c = 0; c < combinations; c++) {
+            double faults = 0;
+            double writeBacks = 0;
+            double instructions = 0;
+            for (int s = 0; s < seeds; s++) {
+                CellResult r = results.get(s * combinations + c);
+                faults += r.faults;
+                writeBacks += r.writeBacks;
+                instructions += r.instructions;
+            }
+            CellResult first = results.get(c);
+            System.out.printf("| %6d | %7d | %-10s | %12.1f | %10.2f | %13.1f |\n",
+                    first.frames, first.resetInterval, first.algorithm, faults / seeds,
+                    instructions == 0 ? 0.0 : 100.0 * faults / instructions, writeBacks / seeds);
+        }
+        System.out.println("-----------------------------------------------------------------------------");
+    }
+
+    private static int[] parseInts(String list) {
+        String[] parts = list.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return values;
+    }
+
+    /**
+     * Uso: ParameterSweep [páginas do SWAP] [instruções] [sementes] [fonte] [frames] [intervalos] [algoritmos]
+     * As listas são separadas por vírgula (ex.: 10,20,40).
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int swapSize = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int numInstructions = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+        int seeds = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        String source = args.length > 3 ? args[3] : "uniform";
+        int[] frames = parseInts(args.length > 4 ? args[4] : "5,10,20,40");
+        int[] intervals = parseInts(args.length > 5 ? args[5] : "10,100");
+        String[] algorithms = (args.length > 6 ? args[6] : "NRU,FIFO,FIFO-SC,CLOCK,LRU,WS-CLOCK,ARC,CAR,OPT").split(",");
+        int parallelism = Runtime.getRuntime().availableProcessors();
+
+        ParameterSweep sweep = new ParameterSweep(swapSize, numInstructions, source);
+        int cells = seeds * frames.length * intervals.length * algorithms.length;
+        System.out.println("Varredura: " + cells + " simulações de " + numInstructions + " instruções ("
+                + source + ", SWAP de " + swapSize + " páginas) em " + parallelism + " threads");
+
+        long start = System.nanoTime();
+        List<CellResult> results = sweep.run(algorithms, frames, intervals, seeds, 1, parallelism);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        printTable(algorithms, frames, intervals, seeds, results);
+        System.out.printf("Tempo total: %.2f s (média de %d sementes por linha)\n", seconds, seeds);
+    }
+}
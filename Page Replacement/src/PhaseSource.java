@@ -0,0 +1,49 @@
+import java.util.Random;
+
+/**
+ * Referências com conjuntos de trabalho que mudam por fases: durante cada fase de
+ * phaseLength referências, as páginas são sorteadas de uma janela de workingSetSize
+ * páginas consecutivas; a cada nova fase a janela é sorteada em outro ponto do SWAP.
+ */
+public class PhaseSource implements ReferenceSource {
+    private final int pages;
+    private final int workingSetSize;
+    private final long phaseLength;
+    private final long seed;
+    private Random random;
+    private long remaining; // Referências que faltam na fase atual
+    private int base;       // Primeira página da janela atual
+
+    public PhaseSource(int pages, int workingSetSize, long phaseLength, long seed) {
+        if (workingSetSize <= 0 || workingSetSize > pages || phaseLength <= 0) {
+            throw new IllegalArgumentException("Parâmetros inválidos: conjunto de " + workingSetSize
+                    + " páginas de " + pages + ", fases de " + phaseLength);
+        }
+        this.pages = pages;
+        this.workingSetSize = workingSetSize;
+        this.phaseLength = phaseLength;
+        this.seed = seed;
+        reset();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return true;
+    }
+
+    @Override
+    public int next() {
+        if (remaining == 0) {
+            base = random.nextInt(pages);
+            remaining = phaseLength;
+        }
+        remaining--;
+        return (base + random.nextInt(workingSetSize)) % pages;
+    }
+
+    @Override
+    public void reset() {
+        random = new Random(seed);
+        remaining = 0;
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * Fonte da sequência de páginas referenciadas durante uma simulação.
+ * reset() recomeça exatamente a mesma sequência, para que todos os algoritmos
+ * executem as mesmas referências.
+ */
+public interface ReferenceSource {
+
+    /**
+     * @return true se ainda há referências (as fontes sintéticas nunca acabam).
+     */
+    boolean hasNext();
+
+    /**
+     * @return O número (N) da próxima página referenciada, de 0 a páginas - 1.
+     */
+    int next();
+
+    /**
+     * Volta para o início da sequência.
+     */
+    void reset();
+}
@@ -0,0 +1,53 @@
+import java.util.Arrays;
+
+/**
+ * String de referências fixa (instruções de 1 a pages), com o índice de próximo uso do OPT.
+ * nextUse(i) é a próxima posição com a mesma instrução da posição i (ou NEVER) e firstUse(N)
+ * a primeira posição que referencia a página N; os dois saem de uma passada de trás para frente.
+ * É imutável depois de construída, então várias simulações (inclusive em paralelo) podem
+ * compartilhar a mesma string.
+ */
+public class ReferenceString {
+    public static final int NEVER = Integer.MAX_VALUE; // Página que não volta a ser referenciada
+
+    private final int pages;
+    private final int[] instructions;
+    private final int[] nextUse;
+    private final int[] firstUse;
+
+    public ReferenceString(int[] instructions, int pages) {
+        this.pages = pages;
+        this.instructions = instructions;
+        this.nextUse = new int[instructions.length];
+        this.firstUse = new int[pages];
+        Arrays.fill(firstUse, NEVER);
+        for (int i = instructions.length - 1; i >= 0; i--) {
+            int page = instructions[i] - 1;
+            if (page < 0 || page >= pages) {
+                throw new IllegalArgumentException("Instrução fora do SWAP na posição " + i + ": " + instructions[i]);
+            }
+            nextUse[i] = firstUse[page];
+            firstUse[page] = i;
+        }
+    }
+
+    public int pages() {
+        return pages;
+    }
+
+    public int length() {
+        return instructions.length;
+    }
+
+    public int instruction(int position) {
+        return instructions[position];
+    }
+
+    public int nextUse(int position) {
+        return nextUse[position];
+    }
+
+    public int firstUse(int page) {
+        return firstUse[page];
+    }
+}
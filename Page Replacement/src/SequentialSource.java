@@ -0,0 +1,35 @@
+/**
+ * Referências sequenciais que se repetem: first, first + 1, ..., first + length - 1, first, ...
+ * Com length = total de páginas é uma varredura; com um trecho menor é um laço.
+ * Um laço um pouco maior que a RAM é o pior caso do LRU e do FIFO (toda referência é falta).
+ */
+public class SequentialSource implements ReferenceSource {
+    private final int first;
+    private final int length;
+    private int offset = 0;
+
+    public SequentialSource(int first, int length) {
+        if (first < 0 || length <= 0) {
+            throw new IllegalArgumentException("Trecho inválido: início " + first + ", tamanho " + length);
+        }
+        this.first = first;
+        this.length = length;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return true;
+    }
+
+    @Override
+    public int next() {
+        int page = first + offset;
+        offset = offset + 1 == length ? 0 : offset + 1;
+        return page;
+    }
+
+    @Override
+    public void reset() {
+        offset = 0;
+    }
+}
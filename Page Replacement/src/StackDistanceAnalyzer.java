@@ -0,0 +1,217 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Análise de distância de pilha (Mattson) para o LRU.
+ * Numa única passada pela string de referências calcula quantas faltas o LRU teria com
+ * qualquer quantidade de frames, sem rodar uma simulação por tamanho de RAM.
+ * A distância de pilha de um acesso é o número de páginas distintas usadas desde o acesso
+ * anterior à mesma página (+1); com c frames o acesso é falta se a distância for > c.
+ * Uma árvore de Fenwick sobre o tempo marca o último acesso de cada página, então cada
+ * referência custa O(log páginas). Só há páginas marcadas vivas, então a árvore tem
+ * 2 * páginas posições de tempo; quando elas acabam, os últimos acessos são renumerados
+ * para 1..k na mesma ordem (O(páginas), amortizado em O(1) por referência). A memória é
+ * O(páginas) e a quantidade de referências não tem limite.
+ * A RAM começa vazia (as primeiras referências são faltas obrigatórias), ao contrário do
+ * simulador, que começa com a RAM cheia.
+ */
+public class StackDistanceAnalyzer {
+    private final int pages;
+    private final int[] lastAccess;     // Página -> tempo do último acesso (1..capacidade), ou 0
+    private final int[] pageAt;         // Tempo -> página + 1 que tem ali o último acesso, ou 0
+    private final int[] tree;           // Fenwick: 1 no tempo do último acesso de cada página
+    private final long[] distanceCount; // Distância de pilha (1..pages) -> quantidade de acessos
+    private long coldMisses = 0;        // Primeiro acesso de cada página (distância infinita)
+    private long references = 0;
+    private int time = 0;               // Último tempo usado na árvore
+
+    /**
+     * @param pages Quantidade de páginas (números 0 a pages - 1).
+     */
+    public StackDistanceAnalyzer(int pages) {
+        int capacity = 2 * Math.max(1, pages);
+        this.pages = pages;
+        this.lastAccess = new int[pages];
+        this.pageAt = new int[capacity + 1];
+        this.tree = new int[capacity + 1];
+        this.distanceCount = new long[pages + 1];
+    }
+
+    /**
+     * Analisa uma string de referências inteira (instruções de 1 a pages, como no simulador).
+     */
+    public static StackDistanceAnalyzer analyze(int[] references, int pages) {
+        StackDistanceAnalyzer analyzer = new StackDistanceAnalyzer(pages);
+        for (int instruction : references) {
+            analyzer.access(instruction - 1);
+        }
+        return analyzer;
+    }
+
+    /**
+     * Analisa uma string de referências pré-gerada (a mesma usada pelo OPT no simulador).
+     */
+    public static StackDistanceAnalyzer analyze(ReferenceString references) {
+        StackDistanceAnalyzer analyzer = new StackDistanceAnalyzer(references.pages());
+        for (int i = 0; i < references.length(); i++) {
+            analyzer.access(references.instruction(i) - 1);
+        }
+        return analyzer;
+    }
+
+    /**
+     * Analisa até 'max' referências da fonte, desde o início, sem guardá-las
+     * (max <= 0: até a fonte acabar, para traces).
+     */
+    public static StackDistanceAnalyzer analyze(ReferenceSource source, int pages, long max) {
+        StackDistanceAnalyzer analyzer = new StackDistanceAnalyzer(pages);
+        source.reset();
+        for (long i = 0; (max <= 0 || i < max) && source.hasNext(); i++) {
+            analyzer.access(source.next());
+        }
+        return analyzer;
+    }
+
+    /**
+     * Registra um acesso à página (número N).
+     */
+    public void access(int page) {
+        if (time == tree.length - 1) {
+            renumber();
+        }
+        time++;
+        references++;
+        int last = lastAccess[page];
+        if (last == 0) {
+            coldMisses++;
+        } else {
+            // Páginas distintas acessadas depois do último acesso a esta página
+            int distance = prefixSum(time - 1) - prefixSum(last) + 1;
+            distanceCount[distance]++;
+            add(last, -1);
+            pageAt[last] = 0;
+        }
+        add(time, 1);
+        pageAt[time] = page + 1;
+        lastAccess[page] = time;
+    }
+
+    /**
+     * @return Quantidade de referências analisadas.
+     */
+    public long getReferences() {
+        return references;
+    }
+
+    /**
+     * @return Faltas do LRU com 'frames' frames (RAM inicialmente vazia).
+     */
+    public long faults(int frames) {
+        long faults = coldMisses;
+        for (int d = Math.max(frames, 0) + 1; d <= pages; d++) {
+            faults += distanceCount[d];
+        }
+        return faults;
+    }
+
+    public double missRatio(int frames) {
+        return references == 0 ? 0.0 : (double) faults(frames) / references;
+    }
+
+    /**
+     * Imprime a curva de faltas para 1 a pages frames, em CSV (frames,faltas,taxa_de_faltas).
+     */
+    public void printCurve(PrintStream out) {
+        out.println("frames,faltas,taxa_de_faltas");
+        // Soma de sufixo: faltas(c) = obrigatórias + acessos com distância > c
+        long faults = coldMisses;
+        for (int d = 2; d <= pages; d++) {
+            faults += distanceCount[d];
+        }
+        for (int frames = 1; frames <= pages; frames++) {
+            out.printf(Locale.ROOT, "%d,%d,%.6f%n", frames, faults, references == 0 ? 0.0 : (double) faults / references);
+            if (frames < pages) {
+                faults -= distanceCount[frames + 1];
+            }
+        }
+    }
+
+    /**
+     * Renumera os últimos acessos (no máximo 'pages' marcados) para 1..k, mantendo a ordem,
+     * e reconstrói a árvore em O(capacidade). As distâncias não mudam: só contam as marcas.
+     */
+    private void renumber() {
+        int next = 0;
+        for (int t = 1; t <= time; t++) {
+            int entry = pageAt[t];
+            pageAt[t] = 0;
+            if (entry != 0) {
+                pageAt[++next] = entry;
+                lastAccess[entry - 1] = next;
+            }
+        }
+        time = next;
+        // Construção linear da Fenwick: cada posição repassa a sua soma para o pai
+        for (int i = 1; i < tree.length; i++) {
+            tree[i] = i <= time ? 1 : 0;
+        }
+        for (int i = 1; i < tree.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    private int prefixSum(int index) {
+        int sum = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private void add(int index, int delta) {
+        for (int i = index; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Lê as referências de uma fonte (createSource do simulador, padrão: uniform) e imprime a curva.
+     * Uso: StackDistanceAnalyzer [páginas do SWAP] [instruções] [semente] [fonte] [arquivo CSV]
+     * Com a mesma semente e fonte, as referências são as do PageReplacementSimulator. As
+     * referências não são guardadas, então 'instruções' pode passar de 2^31; com um trace,
+     * instruções <= 0 lê o trace inteiro.
+     */
+    public static void main(String[] args) throws IOException {
+        int swapSize = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        long numInstructions = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+        // Mesma derivação de semente do simulador (a fonte não repete os sorteios da simulação)
+        long sourceSeed = args.length > 2 ? ~Long.parseLong(args[2]) : new Random().nextLong();
+        String spec = args.length > 3 ? args[3] : "uniform";
+        // As fontes loop e phases usam a RAM só para os padrões: a mesma proporção do simulador (10 / 100)
+        ReferenceSource source = PageReplacementSimulator.createSource(spec, swapSize, Math.max(1, swapSize / 10), sourceSeed);
+        if (numInstructions <= 0 && !(source instanceof TraceFileSource)) {
+            throw new IllegalArgumentException("Instruções <= 0 só valem para traces");
+        }
+
+        StackDistanceAnalyzer analyzer = analyze(source, swapSize, numInstructions);
+        if (source instanceof Closeable closeable) {
+            closeable.close();
+        }
+
+        if (args.length > 4) {
+            try (PrintStream out = new PrintStream(args[4])) {
+                analyzer.printCurve(out);
+            }
+            System.out.println("Curva de faltas do LRU (1 a " + swapSize + " frames, "
+                    + analyzer.getReferences() + " referências) gravada em " + args[4]);
+        } else {
+            analyzer.printCurve(System.out);
+        }
+    }
+}
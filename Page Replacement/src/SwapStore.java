@@ -0,0 +1,59 @@
+/**
+ * Armazenamento das páginas do SWAP.
+ * As páginas entram na RAM por readInto (page-in) e voltam por writeBack (Obs5);
+ * as implementações que fazem E/S de verdade contam os bytes movidos e o tempo gasto.
+ */
+public interface SwapStore {
+
+    int size();
+
+    /**
+     * Preenche todos os campos de uma página (inicialização do SWAP).
+     */
+    void set(int slot, int N, int I, int D, int R, int M, int T);
+
+    /**
+     * Carrega a página 'slot' do SWAP no frame 'frame' da RAM.
+     */
+    void readInto(int slot, PageStore ram, int frame);
+
+    /**
+     * Salva a página do frame 'frame' da RAM na posição 'slot' do SWAP, com M zerado.
+     */
+    void writeBack(PageStore ram, int frame, int slot);
+
+    /**
+     * Conclui as escritas pendentes (sem efeito se elas não são adiadas).
+     */
+    default void flush() {
+    }
+
+    /**
+     * @return true se o armazenamento faz E/S de verdade e mede os contadores abaixo.
+     */
+    default boolean measuresIo() {
+        return false;
+    }
+
+    default long getBytesRead() {
+        return 0;
+    }
+
+    default long getBytesWritten() {
+        return 0;
+    }
+
+    /**
+     * @return Quantidade de escritas sequenciais (trechos de posições consecutivas gravados de uma vez).
+     */
+    default long getWriteRuns() {
+        return 0;
+    }
+
+    default long getIoNanos() {
+        return 0;
+    }
+
+    default void resetCounters() {
+    }
+}
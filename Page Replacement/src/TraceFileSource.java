@@ -0,0 +1,117 @@
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Referências lidas de um arquivo de trace binário: um int de 4 bytes (big-endian) por
+ * referência, com o número (N) da página. O arquivo é mapeado em janelas de tamanho fixo,
+ * então traces de qualquer tamanho são lidos com memória constante no heap.
+ */
+public class TraceFileSource implements ReferenceSource, Closeable {
+    private static final int RECORD_BYTES = 4;
+    private static final long WINDOW_BYTES = 64L << 20; // 64 MB por janela (múltiplo de RECORD_BYTES)
+
+    private final String path;
+    private final FileChannel channel;
+    private final int pages;
+    private final long length;   // Quantidade de referências no arquivo
+    private long position = 0;   // Próxima referência a ler
+    private MappedByteBuffer window;
+
+    /**
+     * @param pages Quantidade de páginas do SWAP (referências fora de 0 a pages - 1 são rejeitadas).
+     */
+    public TraceFileSource(String path, int pages) throws IOException {
+        this.path = path;
+        this.pages = pages;
+        this.channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+        this.length = channel.size() / RECORD_BYTES;
+    }
+
+    /**
+     * @return Quantidade de referências do trace.
+     */
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return position < length;
+    }
+
+    @Override
+    public int next() {
+        if (window == null || !window.hasRemaining()) {
+            mapWindow();
+        }
+        int page = window.getInt();
+        if (page < 0 || page >= pages) {
+            throw new IllegalStateException("Página " + page + " fora do SWAP na referência " + position + " de " + path);
+        }
+        position++;
+        return page;
+    }
+
+    @Override
+    public void reset() {
+        position = 0;
+        window = null;
+    }
+
+    private void mapWindow() {
+        if (position >= length) {
+            throw new IllegalStateException("Fim do trace " + path);
+        }
+        long start = position * RECORD_BYTES;
+        long size = Math.min(WINDOW_BYTES, (length - position) * RECORD_BYTES);
+        try {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao mapear " + path, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    /**
+     * Grava 'count' referências de uma fonte em um arquivo de trace no formato lido por esta classe.
+     */
+    public static void write(String path, ReferenceSource source, long count) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path), 1 << 16))) {
+            for (long i = 0; i < count && source.hasNext(); i++) {
+                out.writeInt(source.next());
+            }
+        }
+    }
+
+    /**
+     * Gera um arquivo de trace a partir de uma fonte sintética.
+     * Uso: TraceFileSource [arquivo] [páginas do SWAP] [referências] [fonte] [semente]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.out.println("Uso: TraceFileSource [arquivo] [páginas do SWAP] [referências] [fonte] [semente]");
+            return;
+        }
+        int pages = Integer.parseInt(args[1]);
+        long count = Long.parseLong(args[2]);
+        String spec = args.length > 3 ? args[3] : "uniform";
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : new Random().nextLong();
+        ReferenceSource source = PageReplacementSimulator.createSource(spec, pages, Math.max(1, pages / 10), seed);
+        write(args[0], source, count);
+        System.out.println(count + " referências (" + spec + ") gravadas em " + args[0]);
+    }
+}
@@ -0,0 +1,31 @@
+import java.util.Random;
+
+/**
+ * Referências uniformes, sem localidade (o mesmo sorteio usado pelo simulador).
+ */
+public class UniformSource implements ReferenceSource {
+    private final int pages;
+    private final long seed;
+    private Random random;
+
+    public UniformSource(int pages, long seed) {
+        this.pages = pages;
+        this.seed = seed;
+        reset();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return true;
+    }
+
+    @Override
+    public int next() {
+        return random.nextInt(pages);
+    }
+
+    @Override
+    public void reset() {
+        random = new Random(seed);
+    }
+}
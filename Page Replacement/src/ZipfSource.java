@@ -0,0 +1,60 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Referências com distribuição de Zipf: a página de posição k no ranking é referenciada
+ * com probabilidade proporcional a 1 / k^expoente, formando um conjunto quente pequeno.
+ * O ranking é uma permutação sorteada pela semente, para as páginas quentes não ficarem
+ * todas no começo do SWAP. Cada sorteio é uma busca binária na distribuição acumulada.
+ */
+public class ZipfSource implements ReferenceSource {
+    private final long seed;
+    private final double[] cumulative; // Probabilidade acumulada por posição no ranking
+    private final int[] pageOfRank;
+    private Random random;
+
+    public ZipfSource(int pages, double exponent, long seed) {
+        if (pages <= 0 || exponent < 0) {
+            throw new IllegalArgumentException("Parâmetros inválidos: " + pages + " páginas, expoente " + exponent);
+        }
+        this.seed = seed;
+        this.cumulative = new double[pages];
+        double sum = 0;
+        for (int k = 0; k < pages; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < pages; k++) {
+            cumulative[k] /= sum;
+        }
+
+        // Embaralha o ranking (Fisher-Yates) com uma semente derivada
+        this.pageOfRank = new int[pages];
+        Random shuffle = new Random(~seed);
+        for (int k = 0; k < pages; k++) {
+            int j = shuffle.nextInt(k + 1);
+            pageOfRank[k] = pageOfRank[j];
+            pageOfRank[j] = k;
+        }
+        reset();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return true;
+    }
+
+    @Override
+    public int next() {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (rank < 0) {
+            rank = -rank - 1; // Ponto de inserção: primeira posição com acumulada > sorteio
+        }
+        return pageOfRank[Math.min(rank, pageOfRank.length - 1)];
+    }
+
+    @Override
+    public void reset() {
+        random = new Random(seed);
+    }
+}